@@ -0,0 +1,82 @@
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares AtomicListOfInts with a list guarded by synchronized, from 1 to 64 threads.
+ * <p>
+ * Two workloads are measured: every thread only prepends, and every thread mostly reads the
+ * first element, prepending once in ten operations. The total number of operations per round is
+ * the same for every thread count. Run with, for example:
+ * {@code java -Dops=400000 -Dthreads=64 AtomicListContentionBenchmark}.
+ * The figures depend on the number of cores.
+ * </p>
+ */
+public class AtomicListContentionBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int operations = BenchmarkHarness.intProperty("ops", 400_000);
+        int maxThreads = BenchmarkHarness.intProperty("threads", 64);
+        System.out.println("ops = " + operations
+                + ", cores = " + Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int perThread = operations / threads;
+            AtomicListOfInts atomic = new AtomicListOfInts(new EmptyNode().prepend(0));
+            BenchmarkHarness.measureConcurrent("AtomicListOfInts prepend, threads = " + threads,
+                    threads, perThread, thread -> atomic.prepend(thread).getDataAtIndex(0));
+            SynchronizedList locked = new SynchronizedList(new EmptyNode().prepend(0));
+            BenchmarkHarness.measureConcurrent("synchronized prepend, threads = " + threads,
+                    threads, perThread, thread -> locked.prepend(thread).getDataAtIndex(0));
+            AtomicListOfInts atomicReads = new AtomicListOfInts(new EmptyNode().prepend(0));
+            BenchmarkHarness.measureConcurrent("AtomicListOfInts 90% reads, threads = " + threads,
+                    threads, perThread, thread -> ThreadLocalRandom.current().nextInt(10) == 0
+                            ? atomicReads.prepend(thread).getDataAtIndex(0)
+                            : atomicReads.get().getDataAtIndex(0));
+            SynchronizedList lockedReads = new SynchronizedList(new EmptyNode().prepend(0));
+            BenchmarkHarness.measureConcurrent("synchronized 90% reads, threads = " + threads,
+                    threads, perThread, thread -> ThreadLocalRandom.current().nextInt(10) == 0
+                            ? lockedReads.prepend(thread).getDataAtIndex(0)
+                            : lockedReads.get().getDataAtIndex(0));
+        }
+    }
+
+    /**
+     * Holds a list behind a lock, as done before AtomicListOfInts.
+     */
+    private static final class SynchronizedList {
+        /** The current list, guarded by this holder. */
+        private ListOfInts list;
+
+        /**
+         * Constructs a holder for the given list.
+         *
+         * @param list the list held at first
+         */
+        private SynchronizedList(ListOfInts list) {
+            this.list = list;
+        }
+
+        /**
+         * Returns the current list.
+         *
+         * @return the list held now
+         */
+        private synchronized ListOfInts get() {
+            return list;
+        }
+
+        /**
+         * Prepends an element to the current list.
+         *
+         * @param data the integer to prepend
+         * @return the new list
+         */
+        private synchronized ListOfInts prepend(int data) {
+            list = list.prepend(data);
+            return list;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A small benchmark harness for the ListOfInts benchmarks.
+ * <p>
+ * JMH refuses benchmark classes in the unnamed package, and classes in a named package cannot
+ * import ListOfInts, so these benchmarks time themselves. Each measurement runs warm-up rounds
+ * first, then reports the mean time per operation and, like JMH's gc profiler, the bytes the
+ * measuring thread allocated per operation. Work done by other threads, such as the common
+ * fork/join pool in a parallel stream, is timed but not counted in the allocation figure.
+ * </p>
+ */
+public final class BenchmarkHarness {
+    /** The number of rounds run before measuring. */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** The number of measured rounds. */
+    private static final int MEASURED_ROUNDS = 10;
+
+    /** Receives every result so the JIT cannot drop the measured work. */
+    private static volatile long sink;
+
+    /** The thread bean used to read allocated bytes, or null if the JVM does not offer it. */
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkHarness() {
+    }
+
+    /**
+     * Measures an operation and prints one result line.
+     *
+     * @param label the name printed for the result
+     * @param operationsPerRound how many times the operation runs in each round
+     * @param operation the operation to measure; its result is consumed
+     */
+    public static void measure(String label, int operationsPerRound, LongSupplier operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(operationsPerRound, operation);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            runRound(operationsPerRound, operation);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        double operations = (double) operationsPerRound * MEASURED_ROUNDS;
+        System.out.printf("%-50s %16.1f ns/op %14.1f B/op%n",
+                label, elapsed / operations, allocated < 0 ? Double.NaN : allocated / operations);
+    }
+
+    /**
+     * Measures an operation run by several threads at once and prints one result line.
+     * Every round starts all threads together and ends when the last one finishes; the result is
+     * the wall-clock time per operation over all threads, and the total throughput.
+     *
+     * @param label the name printed for the result
+     * @param threads the number of threads running the operation
+     * @param operationsPerThread how many times each thread runs the operation in each round
+     * @param operation the operation to measure; it is given the number of the calling thread
+     */
+    public static void measureConcurrent(String label, int threads, int operationsPerThread,
+                                         IntToLongFunction operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runConcurrentRound(threads, operationsPerThread, operation);
+        }
+        long elapsed = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            elapsed += runConcurrentRound(threads, operationsPerThread, operation);
+        }
+        double operations = (double) threads * operationsPerThread * MEASURED_ROUNDS;
+        System.out.printf("%-50s %16.1f ns/op %14.0f ops/s%n",
+                label, elapsed / operations, operations * 1e9 / elapsed);
+    }
+
+    /**
+     * Measures the heap retained by the object an operation builds and prints one result line.
+     * The heap is collected before and after building, while the result is still reachable.
+     *
+     * @param label the name printed for the result
+     * @param items the number of items the result holds, used for the per-item figure
+     * @param build the operation building the object to measure
+     */
+    public static void measureRetained(String label, int items, Supplier<?> build) {
+        long before = usedHeapAfterGc();
+        Object result = build.get();
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%-50s %16d B %14.1f B/item%n",
+                label, retained, (double) retained / items);
+        sink += System.identityHashCode(result);
+    }
+
+    /**
+     * Returns the integer value of a system property, or a default if it is not set.
+     *
+     * @param name the property name
+     * @param defaultValue the value used when the property is not set
+     * @return the property value
+     */
+    public static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Runs one round of an operation.
+     *
+     * @param operations the number of times to run the operation
+     * @param operation the operation to run
+     */
+    private static void runRound(int operations, LongSupplier operation) {
+        long result = 0;
+        for (int i = 0; i < operations; i++) {
+            result += operation.getAsLong();
+        }
+        sink += result;
+    }
+
+    /**
+     * Runs one round of an operation on several threads started together.
+     *
+     * @param threads the number of threads
+     * @param operations the number of times each thread runs the operation
+     * @param operation the operation to run, given the number of the calling thread
+     * @return the wall-clock time of the round in nanoseconds
+     */
+    private static long runConcurrentRound(int threads, int operations,
+                                           IntToLongFunction operation) {
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int number = t;
+            workers[t] = new Thread(() -> {
+                await(start);
+                long result = 0;
+                for (int i = 0; i < operations; i++) {
+                    result += operation.applyAsLong(number);
+                }
+                sink += result;
+            });
+            workers[t].start();
+        }
+        await(start);
+        long begin = System.nanoTime();
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * Waits at a barrier, turning interruption into an unchecked exception.
+     *
+     * @param barrier the barrier to wait at
+     */
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Collects garbage until the used heap stops shrinking and returns it.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    /**
+     * Returns the bytes allocated so far by the current thread.
+     *
+     * @return the allocated bytes, or -1 if they cannot be measured
+     */
+    private static long allocatedBytes() {
+        if (THREADS == null) {
+            return -1;
+        }
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Finds the thread bean that reports allocated bytes.
+     *
+     * @return the bean, or null if the JVM does not offer it
+     */
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return (com.sun.management.ThreadMXBean) bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.Random;
+
+/**
+ * Compares the heap retained by many short lists built from ElementNodes and from InternedLists.
+ * <p>
+ * The lists draw their elements from a small alphabet, so many of them share suffixes or are
+ * equal, as with the short lists this factory is meant for. Run with, for example:
+ * {@code java -Dlists=1000000 -Dlength=8 -Dalphabet=4 InternedListsFootprint}.
+ * </p>
+ */
+public class InternedListsFootprint {
+
+    /**
+     * Runs the measurement.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int lists = BenchmarkHarness.intProperty("lists", 1_000_000);
+        int length = BenchmarkHarness.intProperty("length", 8);
+        int alphabet = BenchmarkHarness.intProperty("alphabet", 4);
+        int[][] values = new int[lists][length];
+        Random random = new Random(42);
+        for (int[] list : values) {
+            for (int i = 0; i < length; i++) {
+                list[i] = random.nextInt(alphabet);
+            }
+        }
+        System.out.println("lists = " + lists + ", length = " + length
+                + ", alphabet = " + alphabet);
+        BenchmarkHarness.measureRetained("InternedLists lists (with table)", lists, () -> {
+            ListOfInts[] result = new ListOfInts[lists];
+            for (int i = 0; i < lists; i++) {
+                result[i] = InternedLists.of(values[i]);
+            }
+            System.out.println("canonical nodes = " + InternedLists.tableSize());
+            return result;
+        });
+        // Drop the table entries of the collected nodes before measuring the plain lists
+        System.gc();
+        InternedLists.tableSize();
+        BenchmarkHarness.measureRetained("ElementNode lists", lists, () -> {
+            ListOfInts[] result = new ListOfInts[lists];
+            for (int i = 0; i < lists; i++) {
+                result[i] = new EmptyNode().prependAll(values[i]);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the ListOfInts operations on every implementation and list size.
+ * <p>
+ * For each implementation and size, a list of 0, 1, ..., size - 1 is built once and every
+ * operation is run on it repeatedly; operations that return a new list leave the measured list
+ * unchanged. Each result line gives the time and the bytes allocated per operation. Run with a
+ * large heap, for example:
+ * {@code java -Xmx6g -Dsizes=10,1000,100000,10000000 -Dimpls=ChunkedList,PersistentVector
+ * ListOfIntsBenchmark}.
+ * By default every implementation is measured at 10, 1000, 100000 and 10000000 elements.
+ * MappedListOfInts copies its file into a new mapped temporary file when it is appended to twice
+ * from the same list or inserted into, so those operations run once per round for it, to keep
+ * the number of live mappings down.
+ * </p>
+ */
+public class ListOfIntsBenchmark {
+
+    /** The number of elements processed per round, used to pick the operations per round. */
+    private static final int ELEMENTS_PER_ROUND = 100_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        String[] sizes = System.getProperty("sizes", "10,1000,100000,10000000").split(",");
+        String impls = System.getProperty("impls", "");
+        for (Map.Entry<String, Supplier<ListOfInts>> entry : implementations().entrySet()) {
+            if (!impls.isEmpty() && !(',' + impls + ',').contains(',' + entry.getKey() + ',')) {
+                continue;
+            }
+            for (String size : sizes) {
+                run(entry.getKey(), entry.getValue().get(), Integer.parseInt(size.trim()));
+            }
+        }
+    }
+
+    /**
+     * Returns a function creating an empty list for each implementation, by name.
+     *
+     * @return the implementations in the order they are measured
+     */
+    private static Map<String, Supplier<ListOfInts>> implementations() {
+        Map<String, Supplier<ListOfInts>> implementations = new LinkedHashMap<>();
+        implementations.put("ElementNode", EmptyNode::new);
+        implementations.put("AnnotatedNode", AnnotatedNode::empty);
+        implementations.put("ChunkedList", ChunkedList::new);
+        implementations.put("PersistentVector", PersistentVector::new);
+        implementations.put("RangeTreeList", RangeTreeList::new);
+        implementations.put("MappedListOfInts", MappedListOfInts::new);
+        implementations.put("LazyList", () -> LazyList.fromStream(IntStream.empty()));
+        implementations.put("InternedLists", InternedLists::empty);
+        return implementations;
+    }
+
+    /**
+     * Measures every operation on one list.
+     *
+     * @param name the implementation name
+     * @param empty an empty list of the implementation
+     * @param size the number of elements in the measured list
+     */
+    private static void run(String name, ListOfInts empty, int size) {
+        ListOfInts list = new ListOfIntsBuilder(size).addAll(IntStream.range(0, size)).build(empty);
+        list.getCountClassic(); // Forces a LazyList, so every operation sees a built list
+        int middle = size / 2;
+        int perRound = Math.max(1, ELEMENTS_PER_ROUND / size);
+        int copiesPerRound = list instanceof MappedListOfInts ? 1 : perRound;
+        String prefix = name + " size=" + size + " ";
+        BenchmarkHarness.measure(prefix + "prepend", perRound, () -> consume(list.prepend(1)));
+        BenchmarkHarness.measure(prefix + "append", copiesPerRound,
+                () -> consume(list.append(1)));
+        BenchmarkHarness.measure(prefix + "insertAtIndex(middle)", copiesPerRound,
+                () -> consume(list.insertAtIndex(1, middle)));
+        BenchmarkHarness.measure(prefix + "getDataAtIndex(middle)", perRound,
+                () -> list.getDataAtIndex(middle));
+        BenchmarkHarness.measure(prefix + "getCountClassic", perRound, list::getCountClassic);
+        BenchmarkHarness.measure(prefix + "getCountWithHelper", perRound,
+                list::getCountWithHelper);
+        BenchmarkHarness.measure(prefix + "getSum", perRound, list::getSum);
+        BenchmarkHarness.measure(prefix + "toString", perRound, () -> list.toString().length());
+    }
+
+    /**
+     * Turns a list into a number the harness can consume without walking the list.
+     *
+     * @param list the list returned by an operation
+     * @return a number depending on the list's identity
+     */
+    private static long consume(ListOfInts list) {
+        return System.identityHashCode(list);
+    }
+}
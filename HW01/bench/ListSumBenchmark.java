@@ -0,0 +1,40 @@
+/**
+ * Compares the sequential getSum of ListOfInts implementations with a parallel stream sum.
+ * <p>
+ * Run with a large heap, for example:
+ * {@code java -Xmx6g -Dsize=100000000 ListSumBenchmark}.
+ * The default size is 100 million elements; the parallel figures depend on the number of cores.
+ * </p>
+ */
+public class ListSumBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int size = BenchmarkHarness.intProperty("size", 100_000_000);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i % 1000;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("size = " + size + ", cores = " + cores);
+        run("ChunkedList", ChunkedList.fromArray(values, size));
+        run("PersistentVector", PersistentVector.fromArray(values, size));
+    }
+
+    /**
+     * Measures one list.
+     *
+     * @param name the implementation name
+     * @param list the list to sum
+     */
+    private static void run(String name, ListOfInts list) {
+        BenchmarkHarness.measure(name + " getLongSum", 1, list::getLongSum);
+        BenchmarkHarness.measure(name + " intStream().sum()", 1, () -> list.intStream().sum());
+        BenchmarkHarness.measure(name + " intStream().parallel().sum()", 1,
+                () -> list.intStream().parallel().sum());
+    }
+}
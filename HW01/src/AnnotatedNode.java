@@ -0,0 +1,295 @@
+import java.util.PrimitiveIterator;
+
+/**
+ * Represents a node in the list that also records the length and the 64-bit sum of the list
+ * starting at it. Both are computed once when the node is built from the annotations of the
+ * next node, so counting and summing take constant time.
+ * <p>
+ * Lists started from {@link #empty()} keep producing AnnotatedNodes through prepend, append and
+ * insertAtIndex.
+ * </p>
+ */
+public class AnnotatedNode implements ListOfInts {
+    /** The integer data stored in this node. */
+    private final int data;
+
+    /** Reference to the next node in the list. */
+    private final ListOfInts next;
+
+    /** The number of elements in the list starting at this node. */
+    private final int count;
+
+    /** The sum of the elements in the list starting at this node. */
+    private final long sum;
+
+    /**
+     * Constructs a new AnnotatedNode with the given data and next node.
+     * This takes constant time when the next node is annotated or empty.
+     *
+     * @param data The integer to store in this node.
+     * @param next The next node in the list.
+     */
+    public AnnotatedNode(int data, ListOfInts next) {
+        this.data = data;
+        this.next = next;
+        this.count = 1 + next.getCountClassic();
+        this.sum = data + next.getLongSum();
+    }
+
+    /**
+     * Returns an empty list whose prepend, append and insertAtIndex build AnnotatedNodes.
+     *
+     * @return A new empty list.
+     */
+    public static ListOfInts empty() {
+        return new EmptyNode() {
+            @Override
+            public ListOfInts prepend(int data) {
+                return new AnnotatedNode(data, this);
+            }
+
+            @Override
+            public ListOfInts append(int data) {
+                return new AnnotatedNode(data, this);
+            }
+
+            @Override
+            public ListOfInts insertAtIndex(int data, int index) {
+                if (index != 0) {
+                    throw new IndexOutOfBoundsException("Invalid index for empty list.");
+                }
+                return new AnnotatedNode(data, this);
+            }
+        };
+    }
+
+    /**
+     * Prepends a new element to the beginning of this list.
+     *
+     * @param data The integer to prepend.
+     * @return A new AnnotatedNode containing the given data, with this node as the next node.
+     */
+    @Override
+    public ListOfInts prepend(int data) {
+        return new AnnotatedNode(data, this);
+    }
+
+    /**
+     * Appends a new element to the end of this list.
+     *
+     * @param data The integer to append.
+     * @return A new list with the given data appended to the end.
+     */
+    @Override
+    public ListOfInts append(int data) {
+        return insertAtIndex(data, count);
+    }
+
+    /**
+     * Inserts a new element at the specified index in this list.
+     * The nodes before the index are copied iteratively; the nodes after it are shared.
+     *
+     * @param data The integer to insert.
+     * @param index The position at which to insert the new element.
+     * @return A new list with the given data inserted at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the count.
+     */
+    @Override
+    public ListOfInts insertAtIndex(int data, int index) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        int[] values = new int[index];
+        int skipped = 0;
+        ListOfInts node = this;
+        while (skipped < index && node instanceof AnnotatedNode) {
+            values[skipped++] = ((AnnotatedNode) node).data;
+            node = ((AnnotatedNode) node).next;
+        }
+        ListOfInts result = skipped == index
+                ? new AnnotatedNode(data, node)
+                : node.insertAtIndex(data, index - skipped);
+        for (int i = skipped - 1; i >= 0; i--) {
+            result = new AnnotatedNode(values[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the data at the specified index in this list.
+     *
+     * @param index The index of the data to retrieve.
+     * @return The integer at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    @Override
+    public int getDataAtIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        ListOfInts node = this;
+        while (node instanceof AnnotatedNode) {
+            AnnotatedNode current = (AnnotatedNode) node;
+            if (index == 0) {
+                return current.data;
+            }
+            node = current.next;
+            index--;
+        }
+        return node.getDataAtIndex(index);
+    }
+
+    /**
+     * Returns the rest of the list (all elements except the first).
+     *
+     * @return The list containing all elements after this one.
+     */
+    @Override
+    public ListOfInts getRest() {
+        return this.next;
+    }
+
+    /**
+     * Returns the recorded number of elements in the list.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountClassic() {
+        return count;
+    }
+
+    /**
+     * Returns the recorded number of elements in the list using the helper method.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountWithHelper() {
+        return getCountHelper(0);
+    }
+
+    /**
+     * Helper method for counting elements in the list.
+     *
+     * @param acc The accumulator for counting.
+     * @return The accumulator plus the number of elements in the list.
+     */
+    @Override
+    public int getCountHelper(int acc) {
+        return acc + count;
+    }
+
+    /**
+     * Returns the recorded sum of all elements in the list, truncated to an int.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public int getSum() {
+        return (int) sum;
+    }
+
+    /**
+     * Returns the recorded sum of all elements in the list.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public long getLongSum() {
+        return sum;
+    }
+
+    /**
+     * Returns an iterator over the elements of the list.
+     * It walks the nodes of this class directly and hands over to the iterator of the first
+     * node of another kind.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private ListOfInts node = AnnotatedNode.this;
+            private PrimitiveIterator.OfInt rest;
+
+            @Override
+            public boolean hasNext() {
+                if (node instanceof AnnotatedNode) {
+                    return true;
+                }
+                if (rest == null) {
+                    rest = node.iterator();
+                }
+                return rest.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (node instanceof AnnotatedNode) {
+                    AnnotatedNode current = (AnnotatedNode) node;
+                    node = current.next;
+                    return current.data;
+                }
+                if (rest == null) {
+                    rest = node.iterator();
+                }
+                return rest.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Appends all the given values to the end of this list, copying this list only once.
+     *
+     * @param values The integers to add.
+     * @return A new annotated list with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        if (values.length == 0) {
+            return this;
+        }
+        return concat(empty().prependAll(values));
+    }
+
+    /**
+     * Returns the elements of this list followed by the elements of another list.
+     * The other list is shared and this list's elements are copied into annotated nodes.
+     *
+     * @param other The list whose elements come last.
+     * @return A new annotated list holding both lists' elements.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        int[] values = toArray();
+        ListOfInts result = other;
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = new AnnotatedNode(values[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a string representation of the list.
+     *
+     * @return A string representation of the list in the format "[data, rest]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int depth = 0;
+        ListOfInts node = this;
+        while (node instanceof AnnotatedNode) {
+            AnnotatedNode current = (AnnotatedNode) node;
+            sb.append('[').append(current.data).append(", ");
+            node = current.next;
+            depth++;
+        }
+        sb.append(node);
+        for (int i = 0; i < depth; i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,152 @@
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds a list of integers that many threads read and replace without locking.
+ * <p>
+ * The holder keeps an immutable snapshot of the current list and a version number that goes up
+ * by one on every change. Reads are a single volatile read, so they never wait for writers or for
+ * each other. Writers build the new list from the snapshot they read and install it with a
+ * compare-and-set, retrying if another writer got there first. This relies on every ListOfInts
+ * operation returning a new list and leaving the old one unchanged.
+ * </p>
+ */
+public class AtomicListOfInts {
+    /** The current list and its version. */
+    private final AtomicReference<Snapshot> current;
+
+    /**
+     * Constructs a holder for an empty list of ElementNodes.
+     */
+    public AtomicListOfInts() {
+        this(new EmptyNode());
+    }
+
+    /**
+     * Constructs a holder for the given list, at version 0.
+     *
+     * @param initial The list held at first.
+     */
+    public AtomicListOfInts(ListOfInts initial) {
+        current = new AtomicReference<>(new Snapshot(initial, 0));
+    }
+
+    /**
+     * Returns the current list.
+     *
+     * @return The list held now.
+     */
+    public ListOfInts get() {
+        return current.get().getList();
+    }
+
+    /**
+     * Returns the current version. Readers can keep a version and compare it with this one later
+     * to find out cheaply whether the list has changed.
+     *
+     * @return The number of changes made so far.
+     */
+    public long getVersion() {
+        return current.get().getVersion();
+    }
+
+    /**
+     * Returns the current list together with its version.
+     *
+     * @return The snapshot held now.
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Prepends an element to the current list.
+     *
+     * @param data The integer to prepend.
+     * @return The new list.
+     */
+    public ListOfInts prepend(int data) {
+        return update(list -> list.prepend(data));
+    }
+
+    /**
+     * Replaces the current list with the result of a function of it.
+     * The function may be called more than once when other threads change the list at the same
+     * time, so it must not have side effects.
+     *
+     * @param function The function building the new list from the current one.
+     * @return The new list.
+     */
+    public ListOfInts update(UnaryOperator<ListOfInts> function) {
+        while (true) {
+            Snapshot expected = current.get();
+            Snapshot updated = new Snapshot(function.apply(expected.getList()),
+                    expected.getVersion() + 1);
+            if (current.compareAndSet(expected, updated)) {
+                return updated.getList();
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Replaces the list only if it has not changed since the given snapshot was taken.
+     *
+     * @param expected The snapshot the new list was built from.
+     * @param list The new list.
+     * @return True if the list was replaced, false if another change came first.
+     */
+    public boolean compareAndSet(Snapshot expected, ListOfInts list) {
+        return current.compareAndSet(expected, new Snapshot(list, expected.getVersion() + 1));
+    }
+
+    /**
+     * Returns a string representation of the current list.
+     *
+     * @return The string representation of the list held now.
+     */
+    @Override
+    public String toString() {
+        return get().toString();
+    }
+
+    /**
+     * Represents a list held by an AtomicListOfInts together with its version.
+     */
+    public static final class Snapshot {
+        /** The list. */
+        private final ListOfInts list;
+
+        /** The number of changes made before this list was installed. */
+        private final long version;
+
+        /**
+         * Constructs a snapshot.
+         *
+         * @param list The list.
+         * @param version The version of the list.
+         */
+        private Snapshot(ListOfInts list, long version) {
+            this.list = list;
+            this.version = version;
+        }
+
+        /**
+         * Returns the list.
+         *
+         * @return The list of this snapshot.
+         */
+        public ListOfInts getList() {
+            return list;
+        }
+
+        /**
+         * Returns the version.
+         *
+         * @return The version of this snapshot.
+         */
+        public long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,501 @@
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents an immutable list of integers that packs its elements into fixed-size int arrays.
+ * <p>
+ * Each ChunkedList node owns a slice of one chunk array and links to the node holding the
+ * following slice. Chunk arrays are never written after they are published, so new versions of
+ * the list share every chunk they do not touch with the version they were made from.
+ * An empty list is a node with no chunk.
+ * </p>
+ */
+public class ChunkedList implements ListOfInts {
+    /** The largest number of elements stored in a single chunk. */
+    static final int CHUNK_SIZE = 64;
+
+    /** The shared empty list that ends every chain of chunks. */
+    private static final ChunkedList EMPTY = new ChunkedList();
+
+    /** The chunk holding this node's elements, or null for the empty list. */
+    private final int[] chunk;
+
+    /** The index in the chunk of this node's first element. */
+    private final int from;
+
+    /** The index in the chunk just past this node's last element. */
+    private final int to;
+
+    /** The node holding the following elements, or null if this is the last node. */
+    private final ChunkedList next;
+
+    /** The number of elements in this node and all nodes after it. */
+    private final int size;
+
+    /**
+     * Constructs a new empty ChunkedList.
+     */
+    public ChunkedList() {
+        this(null, 0, 0, null, 0);
+    }
+
+    /**
+     * Constructs a node over the given slice of a chunk.
+     *
+     * @param chunk The chunk holding the elements.
+     * @param from The index of the first element of the slice.
+     * @param to The index just past the last element of the slice.
+     * @param next The node holding the following elements, or null if there are none.
+     * @param size The number of elements in the slice and all nodes after it.
+     */
+    private ChunkedList(int[] chunk, int from, int to, ChunkedList next, int size) {
+        this.chunk = chunk;
+        this.from = from;
+        this.to = to;
+        this.next = next;
+        this.size = size;
+    }
+
+    /**
+     * Prepends a new element to the beginning of this list.
+     *
+     * @param data The integer to prepend.
+     * @return A new list whose first chunk holds the data, sharing every following chunk.
+     */
+    @Override
+    public ListOfInts prepend(int data) {
+        if (size == 0) {
+            return new ChunkedList(new int[] {data}, 0, 1, null, 1);
+        }
+        int length = to - from;
+        if (length >= CHUNK_SIZE) {
+            return new ChunkedList(new int[] {data}, 0, 1, this, size + 1);
+        }
+        int[] copy = new int[length + 1];
+        copy[0] = data;
+        System.arraycopy(chunk, from, copy, 1, length);
+        return new ChunkedList(copy, 0, length + 1, next, size + 1);
+    }
+
+    /**
+     * Appends a new element to the end of this list.
+     *
+     * @param data The integer to append.
+     * @return A new list with the given data appended to the end.
+     */
+    @Override
+    public ListOfInts append(int data) {
+        return insertAtIndex(data, size);
+    }
+
+    /**
+     * Inserts a new element at the specified index in this list.
+     * Only the chunk receiving the element is copied; the nodes before it are rebuilt to point
+     * at the copy and the nodes after it are shared.
+     *
+     * @param data The integer to insert.
+     * @param index The position at which to insert the new element.
+     * @return A new list with the given data inserted at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the size.
+     */
+    @Override
+    public ListOfInts insertAtIndex(int data, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        if (size == 0) {
+            return prepend(data);
+        }
+        ChunkedList[] path = new ChunkedList[nodeCount()];
+        int depth = 0;
+        int offset = index;
+        ChunkedList node = this;
+        while (offset > node.to - node.from || (offset == node.to - node.from && node.next != null
+                && node.to - node.from >= CHUNK_SIZE)) {
+            offset -= node.to - node.from;
+            path[depth++] = node;
+            node = node.next;
+        }
+        int length = node.to - node.from;
+        ChunkedList rest = node.next;
+        if (offset == CHUNK_SIZE) {
+            ChunkedList last = new ChunkedList(new int[] {data}, 0, 1, null, 1);
+            ChunkedList full = new ChunkedList(node.chunk, node.from, node.to, last, node.size + 1);
+            return relink(path, depth, full);
+        }
+        int[] merged = new int[length + 1];
+        System.arraycopy(node.chunk, node.from, merged, 0, offset);
+        merged[offset] = data;
+        System.arraycopy(node.chunk, node.from + offset, merged, offset + 1, length - offset);
+        ChunkedList result;
+        if (merged.length <= CHUNK_SIZE) {
+            result = new ChunkedList(merged, 0, merged.length, rest, node.size + 1);
+        } else {
+            int half = merged.length / 2;
+            int restSize = rest == null ? 0 : rest.size;
+            ChunkedList upper = new ChunkedList(merged, half, merged.length, rest,
+                    restSize + merged.length - half);
+            result = new ChunkedList(merged, 0, half, upper, node.size + 1);
+        }
+        return relink(path, depth, result);
+    }
+
+    /**
+     * Retrieves the data at the specified index in this list.
+     *
+     * @param index The index of the data to retrieve.
+     * @return The integer at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    @Override
+    public int getDataAtIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        ChunkedList node = this;
+        while (index >= node.to - node.from) {
+            index -= node.to - node.from;
+            node = node.next;
+        }
+        return node.chunk[node.from + index];
+    }
+
+    /**
+     * Returns the rest of the list (all elements except the first).
+     *
+     * @return The list containing all elements after the first, sharing this list's chunks.
+     * @throws IllegalStateException If the list is empty.
+     */
+    @Override
+    public ListOfInts getRest() {
+        if (size == 0) {
+            throw new IllegalStateException("Empty list has no rest.");
+        }
+        if (to - from > 1) {
+            return new ChunkedList(chunk, from + 1, to, next, size - 1);
+        }
+        return next == null ? EMPTY : next;
+    }
+
+    /**
+     * Returns the number of elements in the list, which every node keeps.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountClassic() {
+        return size;
+    }
+
+    /**
+     * Returns the number of elements in the list using the helper method.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountWithHelper() {
+        return getCountHelper(0);
+    }
+
+    /**
+     * Helper method for counting elements in the list.
+     *
+     * @param acc The accumulator for counting.
+     * @return The accumulator plus the number of elements in the list.
+     */
+    @Override
+    public int getCountHelper(int acc) {
+        return acc + size;
+    }
+
+    /**
+     * Calculates the sum of all elements in the list.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public int getSum() {
+        return (int) getLongSum();
+    }
+
+    /**
+     * Calculates the sum of all elements in the list as a long, one chunk at a time.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public long getLongSum() {
+        long sum = 0;
+        for (ChunkedList node = this; node != null && node.size > 0; node = node.next) {
+            int[] values = node.chunk;
+            for (int i = node.from; i < node.to; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Adds all the given values to the front of this list, packed into new full chunks.
+     *
+     * @param values The integers to add.
+     * @return A new list with the values before the elements of this one.
+     */
+    @Override
+    public ListOfInts prependAll(int... values) {
+        return packInFront(values, 0, values.length, this);
+    }
+
+    /**
+     * Adds all the given values to the end of this list. The last chunk is merged with the
+     * values and packed again; the earlier chunks are shared.
+     *
+     * @param values The integers to add.
+     * @return A new list with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        if (values.length == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return fromArray(values, values.length);
+        }
+        ChunkedList[] path = new ChunkedList[nodeCount()];
+        int depth = 0;
+        ChunkedList node = this;
+        while (node.next != null) {
+            path[depth++] = node;
+            node = node.next;
+        }
+        int length = node.to - node.from;
+        int[] merged = new int[length + values.length];
+        System.arraycopy(node.chunk, node.from, merged, 0, length);
+        System.arraycopy(values, 0, merged, length, values.length);
+        return relink(path, depth, packInFront(merged, 0, merged.length, EMPTY));
+    }
+
+    /**
+     * Returns the elements of this list followed by the elements of another list.
+     * When the other list is a ChunkedList, both lists' chunks are shared and only this list's
+     * nodes are rebuilt.
+     *
+     * @param other The list whose elements come last.
+     * @return A new list holding both lists' elements.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        if (!(other instanceof ChunkedList)) {
+            return ListOfInts.super.concat(other);
+        }
+        ChunkedList tail = (ChunkedList) other;
+        if (tail.size == 0) {
+            return this;
+        }
+        ChunkedList[] path = new ChunkedList[nodeCount()];
+        int depth = 0;
+        for (ChunkedList node = this; node != null && node.size > 0; node = node.next) {
+            path[depth++] = node;
+        }
+        return relink(path, depth, tail);
+    }
+
+    /**
+     * Returns an iterator over the elements of the list, one chunk at a time.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list that splits at chunk boundaries.
+     *
+     * @return A spliterator over the elements, from first to last.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new ChunkSpliterator(this, from, size);
+    }
+
+    /**
+     * Returns a string representation of the list.
+     *
+     * @return A string representation of the list in the format "[data, rest]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (ChunkedList node = this; node != null && node.size > 0; node = node.next) {
+            for (int i = node.from; i < node.to; i++) {
+                sb.append('[').append(node.chunk[i]).append(", ");
+            }
+        }
+        sb.append("[]");
+        for (int i = 0; i < size; i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds a list holding the first length values of an array, packed into full chunks.
+     *
+     * @param values The values to store, in order; the array is not kept.
+     * @param length The number of values to take from the array.
+     * @return A new list holding the values.
+     */
+    static ChunkedList fromArray(int[] values, int length) {
+        return packInFront(values, 0, length, EMPTY);
+    }
+
+    /**
+     * Packs a range of an array into new chunks placed in front of a list.
+     * Every new chunk is full except possibly the first.
+     *
+     * @param values The values to store, in order; the array is not kept.
+     * @param from The index of the first value to store.
+     * @param to The index just past the last value to store.
+     * @param tail The list following the new chunks.
+     * @return A new list holding the values followed by the tail.
+     */
+    private static ChunkedList packInFront(int[] values, int from, int to, ChunkedList tail) {
+        ChunkedList result = tail;
+        int end = to;
+        while (end > from) {
+            int begin = Math.max(from, end - CHUNK_SIZE);
+            int[] chunk = Arrays.copyOfRange(values, begin, end);
+            ChunkedList next = result.size == 0 ? null : result;
+            result = new ChunkedList(chunk, 0, chunk.length, next, result.size + chunk.length);
+            end = begin;
+        }
+        return result;
+    }
+
+    /**
+     * Counts the nodes in this chain, not including the empty list.
+     *
+     * @return The number of nodes holding elements.
+     */
+    private int nodeCount() {
+        int count = 0;
+        for (ChunkedList node = this; node != null && node.size > 0; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Rebuilds the first depth nodes of a path so that the last of them links to the given tail.
+     * The rebuilt nodes keep sharing their chunks with the originals.
+     *
+     * @param path The nodes to rebuild, in list order.
+     * @param depth The number of nodes of the path to rebuild.
+     * @param tail The new list following the rebuilt nodes.
+     * @return The first rebuilt node, or the tail if depth is 0.
+     */
+    private static ChunkedList relink(ChunkedList[] path, int depth, ChunkedList tail) {
+        ChunkedList result = tail;
+        for (int i = depth - 1; i >= 0; i--) {
+            ChunkedList node = path[i];
+            result = new ChunkedList(node.chunk, node.from, node.to, result,
+                    node.to - node.from + result.size);
+        }
+        return result;
+    }
+
+    /**
+     * Represents a spliterator over a chain of chunks.
+     * It splits by handing the first half of its chunks to a new spliterator.
+     */
+    private static final class ChunkSpliterator implements Spliterator.OfInt {
+        /** The node holding the next element. */
+        private ChunkedList node;
+
+        /** The index in the node's chunk of the next element. */
+        private int index;
+
+        /** The number of elements left to visit. */
+        private int remaining;
+
+        /**
+         * Constructs a spliterator over the given number of elements, starting in a node.
+         *
+         * @param node The node holding the first element.
+         * @param index The index in the node's chunk of the first element.
+         * @param remaining The number of elements to visit.
+         */
+        private ChunkSpliterator(ChunkedList node, int index, int remaining) {
+            this.node = node;
+            this.index = index;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (remaining == 0) {
+                return false;
+            }
+            if (index == node.to) {
+                node = node.next;
+                index = node.from;
+            }
+            action.accept(node.chunk[index++]);
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (remaining > 0) {
+                if (index == node.to) {
+                    node = node.next;
+                    index = node.from;
+                }
+                int[] values = node.chunk;
+                int end = Math.min(node.to, index + remaining);
+                for (int i = index; i < end; i++) {
+                    action.accept(values[i]);
+                }
+                remaining -= end - index;
+                index = end;
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (remaining < 2 * CHUNK_SIZE) {
+                return null;
+            }
+            int taken = node.to - index;
+            ChunkedList boundary = node.next;
+            while (taken < remaining / 2) {
+                taken += boundary.to - boundary.from;
+                boundary = boundary.next;
+            }
+            if (taken >= remaining) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new ChunkSpliterator(node, index, taken);
+            node = boundary;
+            index = boundary.from;
+            remaining -= taken;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
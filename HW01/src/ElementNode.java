@@ -1,5 +1,9 @@
+import java.util.PrimitiveIterator;
+
 /**
  * Represents a node in the list containing an integer and a reference to the next node.
+ * Operations walk the chain of nodes in a loop rather than recursing once per node,
+ * so they run in constant stack depth no matter how long the list is.
  */
 public class ElementNode implements ListOfInts {
     /** The integer data stored in this node. */
@@ -38,7 +42,13 @@ public class ElementNode implements ListOfInts {
      */
     @Override
     public ListOfInts append(int data) {
-        return new ElementNode(this.data, next.append(data));
+        int count = 0;
+        ListOfInts node = this;
+        while (node instanceof ElementNode) {
+            node = ((ElementNode) node).next;
+            count++;
+        }
+        return copyPrefixOnto(count, node.append(data));
     }
 
     /**
@@ -53,11 +63,16 @@ public class ElementNode implements ListOfInts {
     public ListOfInts insertAtIndex(int data, int index) {
         if (index == 0) {
             return prepend(data);
-        } else if (index > 0) {
-            return new ElementNode(this.data, next.insertAtIndex(data, index - 1));
-        } else {
+        } else if (index < 0) {
             throw new IndexOutOfBoundsException("Index cannot be negative.");
         }
+        int skipped = 0;
+        ListOfInts node = this;
+        while (skipped < index && node instanceof ElementNode) {
+            node = ((ElementNode) node).next;
+            skipped++;
+        }
+        return copyPrefixOnto(skipped, node.insertAtIndex(data, index - skipped));
     }
 
     /**
@@ -69,13 +84,20 @@ public class ElementNode implements ListOfInts {
      */
     @Override
     public int getDataAtIndex(int index) {
-        if (index == 0) {
-            return this.data;
-        } else if (index > 0) {
-            return next.getDataAtIndex(index - 1);
-        } else {
+        if (index < 0) {
             throw new IndexOutOfBoundsException("Invalid index.");
         }
+        int remaining = index;
+        ListOfInts node = this;
+        while (node instanceof ElementNode) {
+            ElementNode current = (ElementNode) node;
+            if (remaining == 0) {
+                return current.data;
+            }
+            node = current.next;
+            remaining--;
+        }
+        return node.getDataAtIndex(remaining);
     }
 
     /**
@@ -89,13 +111,19 @@ public class ElementNode implements ListOfInts {
     }
 
     /**
-     * Counts the number of elements in the list using a classic recursive approach.
+     * Counts the number of elements in the list using a classic approach.
      *
      * @return The number of elements in the list.
      */
     @Override
     public int getCountClassic() {
-        return 1 + next.getCountClassic();
+        int count = 0;
+        ListOfInts node = this;
+        while (node instanceof ElementNode) {
+            node = ((ElementNode) node).next;
+            count++;
+        }
+        return count + node.getCountClassic();
     }
 
     /**
@@ -116,7 +144,12 @@ public class ElementNode implements ListOfInts {
      */
     @Override
     public int getCountHelper(int acc) {
-        return next.getCountHelper(acc + 1);
+        ListOfInts node = this;
+        while (node instanceof ElementNode) {
+            node = ((ElementNode) node).next;
+            acc++;
+        }
+        return node.getCountHelper(acc);
     }
 
     /**
@@ -126,7 +159,77 @@ public class ElementNode implements ListOfInts {
      */
     @Override
     public int getSum() {
-        return this.data + next.getSum();
+        return (int) getLongSum();
+    }
+
+    /**
+     * Calculates the sum of all elements in the list as a long.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public long getLongSum() {
+        long sum = 0;
+        ListOfInts node = this;
+        while (node instanceof ElementNode) {
+            ElementNode current = (ElementNode) node;
+            sum += current.data;
+            node = current.next;
+        }
+        return sum + node.getLongSum();
+    }
+
+    /**
+     * Returns an iterator over the elements of the list.
+     * It walks the nodes of this class directly and hands over to the iterator of the first
+     * node of another kind.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private ListOfInts node = ElementNode.this;
+            private PrimitiveIterator.OfInt rest;
+
+            @Override
+            public boolean hasNext() {
+                if (node instanceof ElementNode) {
+                    return true;
+                }
+                if (rest == null) {
+                    rest = node.iterator();
+                }
+                return rest.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (node instanceof ElementNode) {
+                    ElementNode current = (ElementNode) node;
+                    node = current.next;
+                    return current.data;
+                }
+                if (rest == null) {
+                    rest = node.iterator();
+                }
+                return rest.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Appends all the given values to the end of this list, copying this list only once.
+     *
+     * @param values The integers to add.
+     * @return A new list with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        if (values.length == 0) {
+            return this;
+        }
+        return concat(new EmptyNode().prependAll(values));
     }
 
     /**
@@ -136,6 +239,41 @@ public class ElementNode implements ListOfInts {
      */
     @Override
     public String toString() {
-        return "[" + this.data + ", " + next.toString() + "]";
+        StringBuilder sb = new StringBuilder();
+        int depth = 0;
+        ListOfInts node = this;
+        while (node instanceof ElementNode) {
+            ElementNode current = (ElementNode) node;
+            sb.append('[').append(current.data).append(", ");
+            node = current.next;
+            depth++;
+        }
+        sb.append(node);
+        for (int i = 0; i < depth; i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Copies the data of the first count nodes of this list, in order, onto the front of the given tail.
+     *
+     * @param count The number of leading nodes to copy.
+     * @param tail The list that follows the copied nodes.
+     * @return A new list made of fresh nodes holding the copied data, followed by the tail.
+     */
+    private ListOfInts copyPrefixOnto(int count, ListOfInts tail) {
+        int[] values = new int[count];
+        ListOfInts node = this;
+        for (int i = 0; i < count; i++) {
+            ElementNode current = (ElementNode) node;
+            values[i] = current.data;
+            node = current.next;
+        }
+        ListOfInts result = tail;
+        for (int i = count - 1; i >= 0; i--) {
+            result = new ElementNode(values[i], result);
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
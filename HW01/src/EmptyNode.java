@@ -1,3 +1,6 @@
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
 /**
  * Represents an empty node in the list.
  */
@@ -103,6 +106,48 @@ public class EmptyNode implements ListOfInts {
         return 0;
     }
 
+    /**
+     * Calculates the sum of all elements in the list as a long.
+     *
+     * @return 0, as the list is empty.
+     */
+    @Override
+    public long getLongSum() {
+        return 0;
+    }
+
+    /**
+     * Returns an iterator over the empty list.
+     *
+     * @return An iterator with no elements.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return IntStream.empty().iterator();
+    }
+
+    /**
+     * Appends all the given values to the empty list.
+     *
+     * @param values The integers to add.
+     * @return A new list holding the values.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        return prependAll(values);
+    }
+
+    /**
+     * Concatenates the empty list with another list.
+     *
+     * @param other The list whose elements come last.
+     * @return The other list itself.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        return other;
+    }
+
     /**
      * Returns a string representation of the empty list.
      *
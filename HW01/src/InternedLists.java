@@ -0,0 +1,312 @@
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds hash-consed lists of integers, in which every node is canonical.
+ * <p>
+ * A node is looked up in an intern table by its data and the identity of its next node before
+ * one is created, and every list ends in the same empty list. Because the next node is itself
+ * canonical, two lists with the same elements are the same object, so they share all their memory
+ * and can be compared with == in constant time. The table holds its nodes weakly, so a node is
+ * dropped from it once no list uses it any more.
+ * </p>
+ * <p>
+ * Lists built here keep producing canonical nodes through prepend, append, insertAtIndex and the
+ * bulk operations.
+ * </p>
+ */
+public final class InternedLists {
+    /**
+     * The canonical nodes. Each entry maps a reference to itself, so the table holds neither
+     * a node nor its next node strongly; lookups use a {@link Key}.
+     */
+    private static final ConcurrentHashMap<Object, NodeReference> TABLE =
+            new ConcurrentHashMap<>();
+
+    /** Receives the references of nodes that have been garbage collected. */
+    private static final ReferenceQueue<Node> CLEARED = new ReferenceQueue<>();
+
+    /** The empty list that ends every canonical list. */
+    private static final Empty EMPTY = new Empty();
+
+    /**
+     * Prevents instantiation; this class only has static methods.
+     */
+    private InternedLists() {
+    }
+
+    /**
+     * Returns the canonical empty list.
+     *
+     * @return The empty list shared by every canonical list.
+     */
+    public static ListOfInts empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the canonical list made of an element followed by a list.
+     * The list is interned first if it is not canonical.
+     *
+     * @param data The first element.
+     * @param next The elements that follow it.
+     * @return The canonical node holding the data in front of the next list.
+     */
+    public static ListOfInts cons(int data, ListOfInts next) {
+        ListOfInts tail = intern(next);
+        Key key = new Key(data, tail);
+        purge();
+        NodeReference reference = TABLE.get(key);
+        Node node = reference == null ? null : reference.get();
+        if (node != null) {
+            return node;
+        }
+        Node created = new Node(data, tail);
+        NodeReference createdReference = new NodeReference(created, key.hashCode());
+        while (true) {
+            NodeReference existing = TABLE.putIfAbsent(createdReference, createdReference);
+            if (existing == null) {
+                return created;
+            }
+            node = existing.get();
+            if (node != null) {
+                return node;
+            }
+            TABLE.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Returns the canonical list of the given values.
+     *
+     * @param values The elements, in order.
+     * @return The canonical list holding the values.
+     */
+    public static ListOfInts of(int... values) {
+        ListOfInts result = EMPTY;
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = cons(values[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the canonical list with the same elements as the given list.
+     * A list that is already canonical is returned as it is.
+     *
+     * @param list The list to intern.
+     * @return The canonical list holding the list's elements.
+     */
+    public static ListOfInts intern(ListOfInts list) {
+        if (list == EMPTY || list instanceof Node) {
+            return list;
+        }
+        return of(list.toArray());
+    }
+
+    /**
+     * Returns the number of nodes in the intern table, after dropping collected ones.
+     *
+     * @return The number of live canonical nodes.
+     */
+    static int tableSize() {
+        purge();
+        return TABLE.size();
+    }
+
+    /**
+     * Removes the table entries of nodes that have been garbage collected.
+     */
+    private static void purge() {
+        NodeReference reference;
+        while ((reference = (NodeReference) CLEARED.poll()) != null) {
+            TABLE.remove(reference, reference);
+        }
+    }
+
+    /**
+     * Represents the key used to look up a canonical node: its data and the identity of its
+     * next node. It is only held while looking up, never stored in the table.
+     */
+    private static final class Key {
+        /** The data of the node. */
+        private final int data;
+
+        /** The next node, compared by identity. */
+        private final ListOfInts next;
+
+        /**
+         * Constructs the key of a node.
+         *
+         * @param data The data of the node.
+         * @param next The next node.
+         */
+        private Key(int data, ListOfInts next) {
+            this.data = data;
+            this.next = next;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof NodeReference)) {
+                return false;
+            }
+            Node node = ((NodeReference) other).get();
+            return node != null && node.data() == data && node.getRest() == next;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * data + System.identityHashCode(next);
+        }
+    }
+
+    /**
+     * Represents a weak reference to a canonical node that is also its entry in the table.
+     * It keeps the hash of the node's key, so its entry can be found and removed once the node
+     * is collected.
+     */
+    private static final class NodeReference extends WeakReference<Node> {
+        /** The hash of the referenced node's key. */
+        private final int hash;
+
+        /**
+         * Constructs a reference to a node.
+         *
+         * @param node The canonical node.
+         * @param hash The hash of the node's key.
+         */
+        private NodeReference(Node node, int hash) {
+            super(node, CLEARED);
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (!(other instanceof NodeReference)) {
+                return false;
+            }
+            Node node = get();
+            Node otherNode = ((NodeReference) other).get();
+            return node != null && otherNode != null && node.data() == otherNode.data()
+                    && node.getRest() == otherNode.getRest();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Represents a canonical node. Every operation returns canonical lists.
+     */
+    private static final class Node extends ElementNode {
+        /**
+         * Constructs a canonical node; only cons creates them.
+         *
+         * @param data The integer to store in this node.
+         * @param next The canonical list following this node.
+         */
+        private Node(int data, ListOfInts next) {
+            super(data, next);
+        }
+
+        /**
+         * Returns the data stored in this node.
+         *
+         * @return The first element of the list.
+         */
+        private int data() {
+            return getDataAtIndex(0);
+        }
+
+        @Override
+        public ListOfInts prepend(int data) {
+            return cons(data, this);
+        }
+
+        @Override
+        public ListOfInts append(int data) {
+            return concat(cons(data, EMPTY));
+        }
+
+        @Override
+        public ListOfInts insertAtIndex(int data, int index) {
+            int[] values = toArray();
+            if (index < 0 || index > values.length) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            ListOfInts suffix = this;
+            for (int i = 0; i < index; i++) {
+                suffix = suffix.getRest();
+            }
+            ListOfInts result = cons(data, suffix);
+            for (int i = index - 1; i >= 0; i--) {
+                result = cons(values[i], result);
+            }
+            return result;
+        }
+
+        @Override
+        public ListOfInts prependAll(int... values) {
+            ListOfInts result = this;
+            for (int i = values.length - 1; i >= 0; i--) {
+                result = cons(values[i], result);
+            }
+            return result;
+        }
+
+        @Override
+        public ListOfInts appendAll(int... values) {
+            return concat(of(values));
+        }
+
+        @Override
+        public ListOfInts concat(ListOfInts other) {
+            return intern(other).prependAll(toArray());
+        }
+    }
+
+    /**
+     * Represents the canonical empty list. Every operation returns canonical lists.
+     */
+    private static final class Empty extends EmptyNode {
+        @Override
+        public ListOfInts prepend(int data) {
+            return cons(data, this);
+        }
+
+        @Override
+        public ListOfInts append(int data) {
+            return cons(data, this);
+        }
+
+        @Override
+        public ListOfInts insertAtIndex(int data, int index) {
+            if (index != 0) {
+                throw new IndexOutOfBoundsException("Invalid index for empty list.");
+            }
+            return cons(data, this);
+        }
+
+        @Override
+        public ListOfInts prependAll(int... values) {
+            return of(values);
+        }
+
+        @Override
+        public ListOfInts appendAll(int... values) {
+            return of(values);
+        }
+
+        @Override
+        public ListOfInts concat(ListOfInts other) {
+            return intern(other);
+        }
+    }
+}
@@ -0,0 +1,549 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a list of integers whose elements are drawn from a source only when they are needed.
+ * <p>
+ * Each LazyList is a cell that is either unforced or, once forced, holds an element and the next
+ * cell, or marks the end of the list. Forcing a cell takes one value from the source and the
+ * result is kept, so every element is produced at most once and the list behaves as an immutable
+ * list. Reaching index k forces only the first k + 1 cells.
+ * </p>
+ * <p>
+ * Appending and concatenating do not wrap the old list's iterator. The new list instead records
+ * its parts: the old list's parts, or the old list itself, followed by the new elements. Its
+ * source walks all the parts with one flat iterator, expanding parts that are themselves
+ * appended lazy lists in place, so a list built by any number of appends is forced in linear time
+ * without deep recursion.
+ * </p>
+ * <p>
+ * Counting, summing and printing force the whole list, so they never return for an endless
+ * source such as {@link #generate(IntSupplier)}.
+ * </p>
+ */
+public class LazyList implements ListOfInts {
+    /** The values not yet drawn, shared by every cell of the list. */
+    private final PrimitiveIterator.OfInt source;
+
+    /** Whether this cell has drawn its value from the source. */
+    private volatile boolean forced;
+
+    /** Whether the source had no value left for this cell. */
+    private boolean empty;
+
+    /** The integer data stored in this cell, once forced. */
+    private int data;
+
+    /** The next cell, once this cell is forced and not empty. */
+    private LazyList next;
+
+    /** The parts of a list made by appending or concatenating, last part first, or null. */
+    private final Part parts;
+
+    /**
+     * Constructs an unforced cell that draws its value from the given source.
+     *
+     * @param source The values of this cell and the cells after it.
+     */
+    private LazyList(PrimitiveIterator.OfInt source) {
+        this.source = source;
+        this.parts = null;
+    }
+
+    /**
+     * Constructs the first cell of a list made of parts.
+     *
+     * @param parts The parts of the list, last part first.
+     */
+    private LazyList(Part parts) {
+        this.source = new PartsIterator(parts);
+        this.parts = parts;
+    }
+
+    /**
+     * Returns an endless list whose elements are produced by the given supplier.
+     *
+     * @param supplier The function called once for each element, in order.
+     * @return A new lazy list.
+     */
+    public static LazyList generate(IntSupplier supplier) {
+        return fromIterator(new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                return supplier.getAsInt();
+            }
+        });
+    }
+
+    /**
+     * Returns a list of the elements of a stream, consuming the stream as they are needed.
+     *
+     * @param stream The stream supplying the elements; it must not be used afterwards.
+     * @return A new lazy list.
+     */
+    public static LazyList fromStream(IntStream stream) {
+        return fromIterator(stream.iterator());
+    }
+
+    /**
+     * Returns a list of the values of an iterator, drawing them as they are needed.
+     *
+     * @param iterator The iterator supplying the elements; it must not be used afterwards.
+     * @return A new lazy list.
+     */
+    public static LazyList fromIterator(PrimitiveIterator.OfInt iterator) {
+        return new LazyList(iterator);
+    }
+
+    /**
+     * Returns a list of the whitespace-separated integers read from a reader.
+     * Characters are read only as far as the elements that are needed; a read error is thrown
+     * as an UncheckedIOException and a token that is not an integer as a NumberFormatException.
+     *
+     * @param reader The reader supplying the text; it must not be used afterwards.
+     * @return A new lazy list.
+     */
+    public static LazyList fromReader(Reader reader) {
+        return fromIterator(new TokenIterator(new BufferedReader(reader)));
+    }
+
+    /**
+     * Prepends a new element to the beginning of this list without forcing any cell.
+     *
+     * @param data The integer to prepend.
+     * @return A new ElementNode containing the given data, with this list as the next node.
+     */
+    @Override
+    public ListOfInts prepend(int data) {
+        return new ElementNode(data, this);
+    }
+
+    /**
+     * Appends a new element to the end of this list without forcing any cell.
+     *
+     * @param data The integer to append.
+     * @return A new lazy list with the given data after the elements of this one.
+     */
+    @Override
+    public ListOfInts append(int data) {
+        return appendAll(data);
+    }
+
+    /**
+     * Inserts a new element at the specified index in this list.
+     * This forces the first index cells and copies their elements; the rest stays lazy.
+     *
+     * @param data The integer to insert.
+     * @param index The position at which to insert the new element.
+     * @return A new list with the given data inserted at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the count.
+     */
+    @Override
+    public ListOfInts insertAtIndex(int data, int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        // Find the cell at the index first, so a bad index fails before anything is allocated
+        LazyList cell = this;
+        for (int i = 0; i < index; i++) {
+            cell.force();
+            if (cell.empty) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            cell = cell.next;
+        }
+        int[] values = new int[index];
+        LazyList copied = this;
+        for (int i = 0; i < index; i++) {
+            values[i] = copied.data;
+            copied = copied.next;
+        }
+        ListOfInts result = cell.prepend(data);
+        for (int i = index - 1; i >= 0; i--) {
+            result = new ElementNode(values[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the data at the specified index in this list, forcing only the cells up to it.
+     *
+     * @param index The index of the data to retrieve.
+     * @return The integer at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    @Override
+    public int getDataAtIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        LazyList cell = this;
+        for (int i = 0; ; i++) {
+            cell.force();
+            if (cell.empty) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            if (i == index) {
+                return cell.data;
+            }
+            cell = cell.next;
+        }
+    }
+
+    /**
+     * Returns the rest of the list (all elements except the first), forcing only this cell.
+     *
+     * @return The lazy list of the elements after the first.
+     * @throws IllegalStateException If the list is empty.
+     */
+    @Override
+    public ListOfInts getRest() {
+        force();
+        if (empty) {
+            throw new IllegalStateException("Empty list has no rest.");
+        }
+        return next;
+    }
+
+    /**
+     * Counts the number of elements in the list, forcing every cell.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountClassic() {
+        int count = 0;
+        for (LazyList cell = this; cell.isForcedNonEmpty(); cell = cell.next) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the number of elements in the list using the helper method.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountWithHelper() {
+        return getCountHelper(0);
+    }
+
+    /**
+     * Helper method for counting elements in the list.
+     *
+     * @param acc The accumulator for counting.
+     * @return The accumulator plus the number of elements in the list.
+     */
+    @Override
+    public int getCountHelper(int acc) {
+        return acc + getCountClassic();
+    }
+
+    /**
+     * Calculates the sum of all elements in the list, truncated to an int.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public int getSum() {
+        return (int) getLongSum();
+    }
+
+    /**
+     * Calculates the sum of all elements in the list with a 64-bit accumulator, forcing every
+     * cell.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public long getLongSum() {
+        long sum = 0;
+        for (LazyList cell = this; cell.isForcedNonEmpty(); cell = cell.next) {
+            sum += cell.data;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns an iterator that forces each cell only when it reaches it.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private LazyList cell = LazyList.this;
+
+            @Override
+            public boolean hasNext() {
+                return cell.isForcedNonEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!cell.isForcedNonEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                int value = cell.data;
+                cell = cell.next;
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator of unknown size, so that streaming the list does not force it
+     * to count its elements first.
+     *
+     * @return A spliterator over the elements, from first to last.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * Appends all the given values to the end of this list without forcing any cell.
+     *
+     * @param values The integers to add.
+     * @return A new lazy list with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        if (values.length == 0) {
+            return this;
+        }
+        return new LazyList(new Part(values.clone(), partsOrSelf()));
+    }
+
+    /**
+     * Returns the elements of this list followed by the elements of another list, without
+     * forcing any cell of this list.
+     *
+     * @param other The list whose elements come last.
+     * @return A new lazy list holding both lists' elements.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        return new LazyList(new Part(other, partsOrSelf()));
+    }
+
+    /**
+     * Returns a string representation of the list, forcing every cell.
+     *
+     * @return A string representation of the list in the format "[data, rest]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int depth = 0;
+        for (LazyList cell = this; cell.isForcedNonEmpty(); cell = cell.next) {
+            sb.append('[').append(cell.data).append(", ");
+            depth++;
+        }
+        sb.append("[]");
+        for (int i = 0; i < depth; i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Forces this cell and reports whether it holds an element.
+     *
+     * @return True if this cell holds an element, false if it ends the list.
+     */
+    private boolean isForcedNonEmpty() {
+        force();
+        return !empty;
+    }
+
+    /**
+     * Draws this cell's value from the source unless it has already been drawn.
+     * Cells are forced in order, since a cell is only reachable from the forced cell before it.
+     */
+    private void force() {
+        if (forced) {
+            return;
+        }
+        synchronized (source) {
+            if (!forced) {
+                if (source.hasNext()) {
+                    data = source.nextInt();
+                    next = new LazyList(source);
+                } else {
+                    empty = true;
+                }
+                forced = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the parts of this list, or this list as its only part.
+     *
+     * @return The parts of this list, last part first.
+     */
+    private Part partsOrSelf() {
+        return parts != null ? parts : new Part(this, null);
+    }
+
+    /**
+     * Represents one part of a list made by appending or concatenating, linked to the part
+     * before it. Parts never change, so lists built from the same list share them.
+     */
+    private static final class Part {
+        /** The elements of this part: an int array or a ListOfInts. */
+        private final Object elements;
+
+        /** The part before this one, or null for the first part. */
+        private final Part previous;
+
+        /**
+         * Constructs a part after the given parts.
+         *
+         * @param elements The elements of this part: an int array or a ListOfInts.
+         * @param previous The part before this one, or null for the first part.
+         */
+        private Part(Object elements, Part previous) {
+            this.elements = elements;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Represents an iterator over the elements of a chain of parts, from the first part to the
+     * last. Pending parts wait on an explicit stack instead of the call stack.
+     */
+    private static final class PartsIterator implements PrimitiveIterator.OfInt {
+        /** The parts not started yet, the next one on top. */
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+        /** The iterator over the current part. */
+        private PrimitiveIterator.OfInt current = IntStream.empty().iterator();
+
+        /**
+         * Constructs an iterator over a chain of parts.
+         *
+         * @param parts The parts, last part first.
+         */
+        private PartsIterator(Part parts) {
+            pushAll(parts);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                Object elements = pending.pop();
+                if (elements instanceof int[]) {
+                    current = Arrays.stream((int[]) elements).iterator();
+                } else if (elements instanceof LazyList && ((LazyList) elements).parts != null) {
+                    // Expand an appended list in place rather than iterating it recursively
+                    pushAll(((LazyList) elements).parts);
+                } else {
+                    current = ((ListOfInts) elements).iterator();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.nextInt();
+        }
+
+        /**
+         * Puts a chain of parts on top of the pending parts, so the first part comes next.
+         *
+         * @param parts The parts, last part first.
+         */
+        private void pushAll(Part parts) {
+            for (Part part = parts; part != null; part = part.previous) {
+                pending.push(part.elements);
+            }
+        }
+    }
+
+    /**
+     * Represents an iterator over the whitespace-separated integers of a reader.
+     */
+    private static final class TokenIterator implements PrimitiveIterator.OfInt {
+        /** The reader supplying the text. */
+        private final BufferedReader reader;
+
+        /** The characters of the next token. */
+        private final StringBuilder token = new StringBuilder();
+
+        /** Whether the next token, if any, has been read into the token buffer. */
+        private boolean ready;
+
+        /**
+         * Constructs an iterator over the integers of a reader.
+         *
+         * @param reader The reader supplying the text.
+         */
+        private TokenIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready) {
+                readToken();
+            }
+            return token.length() > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return Integer.parseInt(token.toString());
+        }
+
+        /**
+         * Reads the next token into the token buffer, leaving it empty at the end of the text.
+         */
+        private void readToken() {
+            token.setLength(0);
+            try {
+                int c = reader.read();
+                while (c != -1 && Character.isWhitespace(c)) {
+                    c = reader.read();
+                }
+                while (c != -1 && !Character.isWhitespace(c)) {
+                    token.append((char) c);
+                    c = reader.read();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ready = true;
+        }
+    }
+}
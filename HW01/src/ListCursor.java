@@ -0,0 +1,209 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a position in a list of integers, for walking and editing it in order.
+ * <p>
+ * The cursor sits between two elements, like a ListIterator. The elements before it are kept in a
+ * growable array and the elements after it are the unchanged suffix of the list, so moving,
+ * reading and editing at the cursor take amortized constant time on lists whose getRest and
+ * prepend do. The edits are only turned back into a list by {@link #close()}, which prepends the
+ * elements before the cursor to the suffix once. The list is never counted: whether there is an
+ * element after the cursor is checked on the suffix only when needed, so a cursor over a lazy or
+ * endless list forces only the elements it moves past.
+ * </p>
+ */
+public class ListCursor {
+    /** The capacity of the array of elements before the cursor when the cursor is created. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The elements before the cursor; only the first index entries are used. */
+    private int[] left = new int[INITIAL_CAPACITY];
+
+    /** The number of elements before the cursor. */
+    private int index;
+
+    /** The elements after the cursor. */
+    private ListOfInts right;
+
+    /** The suffix whose emptiness was last checked, or null if none has been checked. */
+    private ListOfInts checkedRight;
+
+    /** Whether the suffix last checked has an element. */
+    private boolean checkedHasNext;
+
+    /** Whether close has been called. */
+    private boolean closed;
+
+    /**
+     * Constructs a cursor at the start of a list.
+     * No element of the list is read until the cursor needs it.
+     *
+     * @param list The list to walk.
+     */
+    public ListCursor(ListOfInts list) {
+        this.right = list;
+    }
+
+    /**
+     * Returns the number of elements before the cursor.
+     *
+     * @return The index of the element after the cursor.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns whether there is an element after the cursor.
+     *
+     * @return True if next would return an element.
+     */
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (right != checkedRight) {
+            checkedRight = right;
+            checkedHasNext = right.iterator().hasNext();
+        }
+        return checkedHasNext;
+    }
+
+    /**
+     * Returns whether there is an element before the cursor.
+     *
+     * @return True if previous would return an element.
+     */
+    public boolean hasPrevious() {
+        return index > 0;
+    }
+
+    /**
+     * Returns the element after the cursor without moving.
+     *
+     * @return The element after the cursor.
+     * @throws NoSuchElementException If the cursor is at the end of the list.
+     */
+    public int peek() {
+        checkNext();
+        return right.getDataAtIndex(0);
+    }
+
+    /**
+     * Returns the element after the cursor and moves past it.
+     *
+     * @return The element after the cursor.
+     * @throws NoSuchElementException If the cursor is at the end of the list.
+     */
+    public int next() {
+        checkNext();
+        int data = right.getDataAtIndex(0);
+        right = right.getRest();
+        push(data);
+        return data;
+    }
+
+    /**
+     * Returns the element before the cursor and moves back before it.
+     *
+     * @return The element before the cursor.
+     * @throws NoSuchElementException If the cursor is at the start of the list.
+     */
+    public int previous() {
+        checkOpen();
+        if (index == 0) {
+            throw new NoSuchElementException("Cursor is at the start of the list.");
+        }
+        int data = left[--index];
+        right = right.prepend(data);
+        return data;
+    }
+
+    /**
+     * Replaces the element after the cursor.
+     *
+     * @param data The integer to store instead.
+     * @throws NoSuchElementException If the cursor is at the end of the list.
+     */
+    public void set(int data) {
+        checkNext();
+        right = right.getRest().prepend(data);
+    }
+
+    /**
+     * Inserts an element at the cursor and moves past it.
+     *
+     * @param data The integer to insert.
+     */
+    public void insert(int data) {
+        checkOpen();
+        push(data);
+    }
+
+    /**
+     * Removes the element after the cursor.
+     *
+     * @return The removed element.
+     * @throws NoSuchElementException If the cursor is at the end of the list.
+     */
+    public int remove() {
+        checkNext();
+        int data = right.getDataAtIndex(0);
+        right = right.getRest();
+        return data;
+    }
+
+    /**
+     * Builds the edited list and closes the cursor.
+     * Only the elements before the cursor are copied; the suffix after it is shared.
+     *
+     * @return The list with every edit made through this cursor.
+     * @throws IllegalStateException If the cursor is already closed.
+     */
+    public ListOfInts close() {
+        checkOpen();
+        closed = true;
+        ListOfInts result = right.prependAll(Arrays.copyOf(left, index));
+        left = null;
+        right = null;
+        checkedRight = null;
+        return result;
+    }
+
+    /**
+     * Adds an element to the end of the elements before the cursor, growing the array by half
+     * when it is full.
+     *
+     * @param data The integer to add.
+     */
+    private void push(int data) {
+        if (index == left.length) {
+            left = Arrays.copyOf(left, left.length + (left.length >> 1) + 1);
+        }
+        left[index++] = data;
+    }
+
+    /**
+     * Checks that the cursor is open and has an element after it.
+     *
+     * @throws NoSuchElementException If the cursor is at the end of the list.
+     */
+    private void checkNext() {
+        checkOpen();
+        if (!hasNext()) {
+            throw new NoSuchElementException("Cursor is at the end of the list.");
+        }
+    }
+
+    /**
+     * Checks that the cursor has not been closed.
+     *
+     * @throws IllegalStateException If the cursor is closed.
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Cursor is closed.");
+        }
+    }
+}
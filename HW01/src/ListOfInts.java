@@ -1,3 +1,12 @@
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 
 /**
  * Represents a list of integers.
@@ -75,4 +84,163 @@ public interface ListOfInts {
      */
     int getSum();
 
+    /**
+     * Returns the sum of the elements in the list as a long, so that it does not overflow.
+     *
+     * @return the sum of the elements
+     */
+    long getLongSum();
+
+    /**
+     * Returns an iterator over the elements of the list, from first to last.
+     *
+     * @return an iterator over the elements
+     */
+    PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Returns a spliterator over the elements of the list, from first to last.
+     * By default it splits by copying batches of elements from the iterator into arrays;
+     * implementations with faster indexed access split their own structure instead.
+     *
+     * @return a spliterator over the elements
+     */
+    default Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(iterator(), getCountWithHelper(),
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the list.
+     * Call parallel() on it to fold the list on several threads.
+     *
+     * @return a stream of the elements
+     */
+    default IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the elements of the list in a new array.
+     *
+     * @return an array holding the elements, from first to last
+     */
+    default int[] toArray() {
+        return intStream().toArray();
+    }
+
+    /**
+     * Adds all the given values to the front of the list, keeping their order.
+     * By default this prepends them one at a time from the last.
+     *
+     * @param values the integers to add
+     * @return the new list with the values before the elements of this one
+     */
+    default ListOfInts prependAll(int... values) {
+        ListOfInts result = this;
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = result.prepend(values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Adds all the given values to the end of the list, keeping their order.
+     * By default this appends them one at a time; implementations whose append copies the
+     * whole list override it.
+     *
+     * @param values the integers to add
+     * @return the new list with the values after the elements of this one
+     */
+    default ListOfInts appendAll(int... values) {
+        ListOfInts result = this;
+        for (int value : values) {
+            result = result.append(value);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements of this list followed by the elements of another list.
+     * By default the other list is shared and this list's elements are prepended to it.
+     *
+     * @param other the list whose elements come last
+     * @return the new list holding both lists' elements
+     */
+    default ListOfInts concat(ListOfInts other) {
+        return other.prependAll(toArray());
+    }
+
+    /**
+     * Returns a cursor at the start of the list, for walking and editing it in order without
+     * indexing from the front each time.
+     *
+     * @return a new cursor before the first element
+     */
+    default ListCursor cursor() {
+        return new ListCursor(this);
+    }
+
+    /**
+     * Returns a pipeline with no stages over the list, for chaining transformations that run
+     * in a single pass.
+     *
+     * @return a new pipeline over this list
+     */
+    default ListPipeline pipeline() {
+        return new ListPipeline(this);
+    }
+
+    /**
+     * Returns a lazy pipeline that replaces each element with the result of a function.
+     *
+     * @param mapper the function applied to each element
+     * @return a new pipeline over this list
+     */
+    default ListPipeline map(IntUnaryOperator mapper) {
+        return pipeline().map(mapper);
+    }
+
+    /**
+     * Returns a lazy pipeline that keeps only the elements matching a predicate.
+     *
+     * @param predicate the test an element must pass to be kept
+     * @return a new pipeline over this list
+     */
+    default ListPipeline filter(IntPredicate predicate) {
+        return pipeline().filter(predicate);
+    }
+
+    /**
+     * Returns a lazy pipeline that stops at the first element not matching a predicate.
+     *
+     * @param predicate the test an element must pass for the pipeline to continue
+     * @return a new pipeline over this list
+     */
+    default ListPipeline takeWhile(IntPredicate predicate) {
+        return pipeline().takeWhile(predicate);
+    }
+
+    /**
+     * Returns a lazy pipeline that combines each element with the element at the same position
+     * in another list, stopping when either list runs out.
+     *
+     * @param other the list whose elements are combined with this list's
+     * @param combiner the function combining an element of this list with one of the other
+     * @return a new pipeline over this list
+     */
+    default ListPipeline zip(ListOfInts other, IntBinaryOperator combiner) {
+        return pipeline().zip(other, combiner);
+    }
+
+    /**
+     * Combines the elements of the list from left to right.
+     *
+     * @param initial the value combined with the first element
+     * @param combiner the function combining the result so far with the next element
+     * @return the combined result, or the initial value if the list is empty
+     */
+    default int foldLeft(int initial, IntBinaryOperator combiner) {
+        return pipeline().foldLeft(initial, combiner);
+    }
 }
@@ -0,0 +1,144 @@
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Collects integers in a growable array so that a list can be built from them in one pass.
+ * <p>
+ * Adding to a builder takes amortized constant time and allocates nothing per element, unlike
+ * appending to a list one element at a time. When all values have been added, build appends them
+ * to any ListOfInts with a single call to appendAll.
+ * </p>
+ */
+public class ListOfIntsBuilder {
+    /** The capacity of a builder created without one. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The collected values; only the first size entries are used. */
+    private int[] values;
+
+    /** The number of collected values. */
+    private int size;
+
+    /**
+     * Constructs an empty builder.
+     */
+    public ListOfIntsBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty builder with room for the given number of values before it grows.
+     *
+     * @param initialCapacity the number of values to make room for
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ListOfIntsBuilder(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        values = new int[initialCapacity];
+    }
+
+    /**
+     * Adds a value after all values collected so far.
+     *
+     * @param value the integer to add
+     * @return this builder
+     */
+    public ListOfIntsBuilder add(int value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+        return this;
+    }
+
+    /**
+     * Adds all the given values, in order.
+     *
+     * @param newValues the integers to add
+     * @return this builder
+     */
+    public ListOfIntsBuilder addAll(int... newValues) {
+        if (size + newValues.length > values.length) {
+            grow(size + newValues.length);
+        }
+        System.arraycopy(newValues, 0, values, size, newValues.length);
+        size += newValues.length;
+        return this;
+    }
+
+    /**
+     * Adds all values of a stream, in encounter order.
+     *
+     * @param stream the integers to add
+     * @return this builder
+     */
+    public ListOfIntsBuilder addAll(IntStream stream) {
+        stream.forEachOrdered(this::add);
+        return this;
+    }
+
+    /**
+     * Adds all elements of a list, in order.
+     *
+     * @param list the list whose elements to add
+     * @return this builder
+     */
+    public ListOfIntsBuilder addAll(ListOfInts list) {
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        while (iterator.hasNext()) {
+            add(iterator.nextInt());
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of values collected so far.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the collected values in a new array.
+     *
+     * @return an array holding the values, in order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Builds a list of ElementNodes holding the collected values.
+     *
+     * @return a new list holding the values
+     */
+    public ListOfInts build() {
+        return build(new EmptyNode());
+    }
+
+    /**
+     * Builds a list holding the elements of the given list followed by the collected values.
+     * Passing an empty list of any implementation builds a list of that implementation.
+     *
+     * @param start the list whose elements come first, usually an empty list
+     * @return a new list holding the elements and then the values
+     */
+    public ListOfInts build(ListOfInts start) {
+        return start.appendAll(toArray());
+    }
+
+    /**
+     * Makes room for at least the given number of values, growing by half at a time.
+     *
+     * @param minCapacity the number of values to make room for
+     */
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, values.length + (values.length >> 1) + 1);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+}
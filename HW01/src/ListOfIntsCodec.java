@@ -0,0 +1,289 @@
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Writes lists of integers in a compact binary format and reads them back.
+ * <p>
+ * The format starts with a magic byte and a flags byte, followed by blocks of at most
+ * {@link #BLOCK_SIZE} integers. Each block is its number of integers as a varint followed by the
+ * integers as zigzag varints, so small positive and negative numbers take one byte. A block of
+ * zero integers ends the list. With delta encoding, each integer is stored as its difference from
+ * the one before it, which keeps sorted or slowly changing lists small.
+ * </p>
+ * <p>
+ * The codec itself only ever holds one block, and neither the total length nor the nested string
+ * form is ever built. Writing and {@link #stream(InputStream)} therefore handle lists of any
+ * length in constant memory. {@link #read(InputStream)} returns a LazyList, which keeps every
+ * integer it has decoded for as long as its head is reachable; it runs in constant memory only if
+ * the caller lets go of the head while walking the list.
+ * </p>
+ */
+public final class ListOfIntsCodec {
+    /** The largest number of integers in one block. */
+    static final int BLOCK_SIZE = 4096;
+
+    /** The first byte of every encoded list. */
+    private static final int MAGIC = 0xB1;
+
+    /** The flag set when integers are stored as differences. */
+    private static final int DELTA = 1;
+
+    /** The most bytes a varint of an int can take. */
+    private static final int MAX_VARINT_BYTES = 5;
+
+    /**
+     * Prevents instantiation; this class only has static methods.
+     */
+    private ListOfIntsCodec() {
+    }
+
+    /**
+     * Writes a list to a stream without delta encoding.
+     *
+     * @param list The list to write.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(ListOfInts list, OutputStream out) throws IOException {
+        write(list, out, false);
+    }
+
+    /**
+     * Writes a list to a stream, one block at a time.
+     *
+     * @param list The list to write.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @param delta Whether to store each integer as its difference from the one before it.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(ListOfInts list, OutputStream out, boolean delta) throws IOException {
+        out.write(MAGIC);
+        out.write(delta ? DELTA : 0);
+        int[] block = new int[BLOCK_SIZE];
+        byte[] bytes = new byte[(BLOCK_SIZE + 1) * MAX_VARINT_BYTES];
+        int previous = 0;
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        int count;
+        do {
+            count = 0;
+            while (count < BLOCK_SIZE && iterator.hasNext()) {
+                int value = iterator.nextInt();
+                block[count++] = delta ? value - previous : value;
+                previous = value;
+            }
+            int length = putVarint(bytes, 0, count);
+            for (int i = 0; i < count; i++) {
+                length = putVarint(bytes, length, (block[i] << 1) ^ (block[i] >> 31));
+            }
+            out.write(bytes, 0, length);
+        } while (count > 0);
+        out.flush();
+    }
+
+    /**
+     * Returns a sequential stream of the integers of a list read from a stream.
+     * The header is read immediately and the integers as the stream is consumed; later read
+     * errors are thrown as UncheckedIOException. The input is read in buffered chunks, so bytes
+     * after the end of the list may be consumed.
+     *
+     * @param in The stream to read from.
+     * @return A stream of the list's integers, in order.
+     * @throws IOException If the header cannot be read or does not start an encoded list.
+     */
+    public static IntStream stream(InputStream in) throws IOException {
+        Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(decoder(in),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    /**
+     * Returns a sequential stream of the integers of a list read from a channel.
+     *
+     * @param channel The channel to read from.
+     * @return A stream of the list's integers, in order.
+     * @throws IOException If the header cannot be read or does not start an encoded list.
+     * @see #stream(InputStream)
+     */
+    public static IntStream stream(ReadableByteChannel channel) throws IOException {
+        return stream(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Returns a lazy list of the integers of a list read from a stream.
+     * Integers are decoded only as the list is forced. Forced integers stay in memory while the
+     * head of the list is reachable; use {@link #stream(InputStream)} to read a long list in
+     * constant memory.
+     *
+     * @param in The stream to read from.
+     * @return A lazy list of the decoded integers.
+     * @throws IOException If the header cannot be read or does not start an encoded list.
+     * @see #stream(InputStream)
+     */
+    public static LazyList read(InputStream in) throws IOException {
+        return LazyList.fromIterator(decoder(in));
+    }
+
+    /**
+     * Returns a lazy list of the integers of a list read from a channel.
+     *
+     * @param channel The channel to read from.
+     * @return A lazy list of the decoded integers.
+     * @throws IOException If the header cannot be read or does not start an encoded list.
+     * @see #stream(InputStream)
+     */
+    public static LazyList read(ReadableByteChannel channel) throws IOException {
+        return read(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Reads the header of an encoded list and returns an iterator over its integers.
+     *
+     * @param in The stream to read from.
+     * @return An iterator decoding the integers as they are requested.
+     * @throws IOException If the header cannot be read or does not start an encoded list.
+     */
+    private static PrimitiveIterator.OfInt decoder(InputStream in) throws IOException {
+        InputStream buffered = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+        if (readByte(buffered) != MAGIC) {
+            throw new IOException("Not an encoded list.");
+        }
+        int flags = readByte(buffered);
+        if ((flags & ~DELTA) != 0) {
+            throw new IOException("Unknown flags: " + flags);
+        }
+        return new Decoder(buffered, (flags & DELTA) != 0);
+    }
+
+    /**
+     * Writes an int as an unsigned varint: seven bits per byte, lowest bits first, with the high
+     * bit set on every byte but the last.
+     *
+     * @param bytes The buffer to write into.
+     * @param index The index in the buffer of the first byte.
+     * @param value The int to write.
+     * @return The index just past the last byte written.
+     */
+    private static int putVarint(byte[] bytes, int index, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[index++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[index++] = (byte) value;
+        return index;
+    }
+
+    /**
+     * Reads one byte, failing at the end of the stream.
+     *
+     * @param in The stream to read from.
+     * @return The byte read, from 0 to 255.
+     * @throws IOException If the stream cannot be read or has ended.
+     */
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Encoded list ended early.");
+        }
+        return b;
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param in The stream to read from.
+     * @return The int read.
+     * @throws IOException If the stream cannot be read, has ended, or holds a varint that is
+     *                     too long or too large for an int.
+     */
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte(in);
+            if (shift == 28 && (b & 0x70) != 0) {
+                // Only the low four bits of the fifth byte fit in an int
+                throw new IOException("Varint is too large.");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint is too long.");
+    }
+
+    /**
+     * Represents an iterator that decodes the blocks of an encoded list as it is advanced.
+     */
+    private static final class Decoder implements PrimitiveIterator.OfInt {
+        /** The stream holding the blocks. */
+        private final InputStream in;
+
+        /** Whether integers are stored as differences. */
+        private final boolean delta;
+
+        /** The number of integers left in the current block. */
+        private int remaining;
+
+        /** Whether the block of zero integers ending the list has been read. */
+        private boolean done;
+
+        /** The last integer returned, used to undo delta encoding. */
+        private int previous;
+
+        /**
+         * Constructs a decoder for the blocks following a header.
+         *
+         * @param in The stream holding the blocks.
+         * @param delta Whether integers are stored as differences.
+         */
+        private Decoder(InputStream in, boolean delta) {
+            this.in = in;
+            this.delta = delta;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining == 0 && !done) {
+                try {
+                    remaining = readVarint(in);
+                    if (remaining < 0 || remaining > BLOCK_SIZE) {
+                        throw new IOException("Invalid block length: " + remaining);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = remaining == 0;
+            }
+            return !done;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int zigzag;
+            try {
+                zigzag = readVarint(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            remaining--;
+            int value = (zigzag >>> 1) ^ -(zigzag & 1);
+            previous = delta ? previous + value : value;
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Represents a chain of transformations of a list of integers that runs in a single pass.
+ * <p>
+ * Intermediate operations such as {@link #map(IntUnaryOperator)} and
+ * {@link #filter(IntPredicate)} only record a stage and return a new pipeline; nothing is
+ * computed and no list is built. A terminal operation such as {@link #getSum()} wraps every
+ * stage around its own sink and pushes the elements of the source list through them one at a
+ * time, so however many stages there are, the elements are visited once and at most one output
+ * is allocated. A stage can stop the pass early, as takeWhile does.
+ * </p>
+ * <p>
+ * A pipeline is immutable and can be run any number of times.
+ * </p>
+ */
+public final class ListPipeline {
+    /** The list whose elements enter the pipeline. */
+    private final ListOfInts source;
+
+    /** Wraps a terminal sink in every stage of this pipeline, last stage innermost. */
+    private final Stage stages;
+
+    /**
+     * Constructs a pipeline with no stages over a list.
+     *
+     * @param source The list whose elements enter the pipeline.
+     */
+    public ListPipeline(ListOfInts source) {
+        this(source, downstream -> downstream);
+    }
+
+    /**
+     * Constructs a pipeline over a list with the given stages.
+     *
+     * @param source The list whose elements enter the pipeline.
+     * @param stages The stages the elements pass through.
+     */
+    private ListPipeline(ListOfInts source, Stage stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns a pipeline that also replaces each element with the result of a function.
+     *
+     * @param mapper The function applied to each element.
+     * @return A new pipeline with the stage added.
+     */
+    public ListPipeline map(IntUnaryOperator mapper) {
+        return then(downstream -> value -> downstream.accept(mapper.applyAsInt(value)));
+    }
+
+    /**
+     * Returns a pipeline that also drops the elements not matching a predicate.
+     *
+     * @param predicate The test an element must pass to be kept.
+     * @return A new pipeline with the stage added.
+     */
+    public ListPipeline filter(IntPredicate predicate) {
+        return then(downstream -> value -> !predicate.test(value) || downstream.accept(value));
+    }
+
+    /**
+     * Returns a pipeline that also stops at the first element not matching a predicate.
+     * The rest of the source is not visited.
+     *
+     * @param predicate The test an element must pass for the pass to continue.
+     * @return A new pipeline with the stage added.
+     */
+    public ListPipeline takeWhile(IntPredicate predicate) {
+        return then(downstream -> value -> predicate.test(value) && downstream.accept(value));
+    }
+
+    /**
+     * Returns a pipeline that also combines each element with the element at the same position
+     * in another list. The pass stops when either list runs out.
+     *
+     * @param other The list whose elements are combined with this pipeline's.
+     * @param combiner The function combining an element of this pipeline with one of the list.
+     * @return A new pipeline with the stage added.
+     */
+    public ListPipeline zip(ListOfInts other, IntBinaryOperator combiner) {
+        return then(downstream -> {
+            PrimitiveIterator.OfInt others = other.iterator();
+            return value -> others.hasNext()
+                    && downstream.accept(combiner.applyAsInt(value, others.nextInt()))
+                    && others.hasNext();
+        });
+    }
+
+    /**
+     * Combines the elements that leave the pipeline from left to right.
+     *
+     * @param initial The value combined with the first element.
+     * @param combiner The function combining the result so far with the next element.
+     * @return The combined result, or the initial value if no element leaves the pipeline.
+     */
+    public int foldLeft(int initial, IntBinaryOperator combiner) {
+        int[] result = {initial};
+        run(value -> {
+            result[0] = combiner.applyAsInt(result[0], value);
+            return true;
+        });
+        return result[0];
+    }
+
+    /**
+     * Calculates the sum of the elements that leave the pipeline, truncated to an int.
+     *
+     * @return The sum of the elements.
+     */
+    public int getSum() {
+        return (int) getLongSum();
+    }
+
+    /**
+     * Calculates the sum of the elements that leave the pipeline with a 64-bit accumulator.
+     *
+     * @return The sum of the elements.
+     */
+    public long getLongSum() {
+        long[] sum = {0};
+        run(value -> {
+            sum[0] += value;
+            return true;
+        });
+        return sum[0];
+    }
+
+    /**
+     * Returns the elements that leave the pipeline in a new array.
+     *
+     * @return An array holding the elements, in order.
+     */
+    public int[] toArray() {
+        return collect().toArray();
+    }
+
+    /**
+     * Builds a list of ElementNodes holding the elements that leave the pipeline.
+     *
+     * @return A new list holding the elements, in order.
+     */
+    public ListOfInts materialize() {
+        return collect().build();
+    }
+
+    /**
+     * Builds a list holding the elements of the given list followed by the elements that leave
+     * the pipeline. Passing an empty list of any implementation builds a list of that
+     * implementation.
+     *
+     * @param start The list whose elements come first, usually an empty list.
+     * @return A new list holding the elements of the list and then those of the pipeline.
+     */
+    public ListOfInts materialize(ListOfInts start) {
+        return collect().build(start);
+    }
+
+    /**
+     * Runs the pipeline into a builder.
+     *
+     * @return A builder holding the elements that leave the pipeline.
+     */
+    private ListOfIntsBuilder collect() {
+        ListOfIntsBuilder builder = new ListOfIntsBuilder();
+        run(value -> {
+            builder.add(value);
+            return true;
+        });
+        return builder;
+    }
+
+    /**
+     * Returns a pipeline with one more stage after the stages of this one.
+     *
+     * @param stage The stage to add.
+     * @return A new pipeline over the same list.
+     */
+    private ListPipeline then(Stage stage) {
+        return new ListPipeline(source, downstream -> stages.wrap(stage.wrap(downstream)));
+    }
+
+    /**
+     * Pushes the elements of the source through every stage into a terminal sink, until the
+     * source runs out or a sink asks to stop.
+     *
+     * @param terminal The sink receiving the elements that leave the last stage.
+     */
+    private void run(Sink terminal) {
+        Sink sink = stages.wrap(terminal);
+        PrimitiveIterator.OfInt iterator = source.iterator();
+        boolean more = true;
+        while (more && iterator.hasNext()) {
+            more = sink.accept(iterator.nextInt());
+        }
+    }
+
+    /**
+     * Represents a receiver of the elements flowing through a pipeline.
+     */
+    @FunctionalInterface
+    private interface Sink {
+        /**
+         * Receives the next element.
+         *
+         * @param value The element.
+         * @return True to receive more elements, false to stop the pass.
+         */
+        boolean accept(int value);
+    }
+
+    /**
+     * Represents a step of a pipeline, which turns the sink after it into the sink before it.
+     */
+    @FunctionalInterface
+    private interface Stage {
+        /**
+         * Builds the sink that performs this step and passes its output on.
+         *
+         * @param downstream The sink receiving this step's output.
+         * @return The sink receiving this step's input.
+         */
+        Sink wrap(Sink downstream);
+    }
+}
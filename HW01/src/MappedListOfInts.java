@@ -0,0 +1,705 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents an immutable list of integers stored in a memory-mapped file instead of the heap.
+ * <p>
+ * Each list is a view of a range of a storage file. The file starts with a small header holding
+ * the number of integers written so far, so {@link #open(Path)} only maps the file and reads the
+ * header; the elements are paged in by the operating system when they are first read.
+ * </p>
+ * <p>
+ * Elements inside a view are never written again. Appending to the newest view of a file writes
+ * past its end in place, because no other view can see those positions. Appending to any other
+ * view, and inserting anywhere but the end, copies the view into a new temporary file first.
+ * Opening a file that is already open shares its storage, so every view of a file agrees on which
+ * view is the newest.
+ * Prepending builds an {@link ElementNode} in front of the view, so the mapped elements are shared.
+ * </p>
+ * <p>
+ * A temporary file is deleted as soon as no list uses it any more, once the garbage collector
+ * notices; its mapped regions are released with it. Files still in use are deleted when the
+ * program exits. Files given to {@link #create(Path)} are never deleted.
+ * </p>
+ */
+public class MappedListOfInts implements ListOfInts {
+    /** The number of integers in each mapped region of a file. */
+    static final int REGION_INTS = 1 << 20;
+
+    /** The number of bytes in the file header. */
+    private static final int HEADER_BYTES = 8;
+
+    /** The value identifying a list file, stored in its first four bytes. */
+    private static final int MAGIC = 0x4C4F4931;
+
+    /** Deletes temporary files once their storage is unreachable. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** The storage of each file created or opened and still in use, by real path. */
+    private static final Map<Path, WeakReference<Storage>> SHARED_FILES = new HashMap<>();
+
+    /** The temporary files not deleted yet, deleted when the program exits. */
+    private static final Set<Path> TEMPORARY_FILES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Path path : TEMPORARY_FILES) {
+                new TemporaryFileDeleter(path).run();
+            }
+        }));
+    }
+
+    /** The file holding the elements, or null for an empty list that has no file yet. */
+    private final Storage storage;
+
+    /** The index in the storage of this list's first element. */
+    private final int from;
+
+    /** The index in the storage just past this list's last element. */
+    private final int to;
+
+    /**
+     * Constructs a new empty MappedListOfInts.
+     * Its file is created in the temporary directory when the first element is added.
+     */
+    public MappedListOfInts() {
+        this(null, 0, 0);
+    }
+
+    /**
+     * Constructs a view of a range of a storage file.
+     *
+     * @param storage The file holding the elements.
+     * @param from The index of the first element.
+     * @param to The index just past the last element.
+     */
+    private MappedListOfInts(Storage storage, int from, int to) {
+        this.storage = storage;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Creates an empty list stored in the given file, replacing anything already in it.
+     * Elements appended to this list and to the lists appended from it are written to the file.
+     *
+     * @param path The file to store the list in.
+     * @return A new empty list.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public static MappedListOfInts create(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        Storage storage = new Storage(path, 0);
+        synchronized (SHARED_FILES) {
+            Storage.share(path.toRealPath(), storage);
+        }
+        return new MappedListOfInts(storage, 0, 0);
+    }
+
+    /**
+     * Opens a list previously stored in the given file.
+     * This reads only the header; elements are loaded from the file as they are used. If the file
+     * is already in use by other lists, the list shares their storage.
+     *
+     * @param path The file holding the list.
+     * @return The list of every element written to the file.
+     * @throws IOException If the file cannot be mapped or does not hold a list.
+     */
+    public static MappedListOfInts open(Path path) throws IOException {
+        Storage storage = Storage.shared(path);
+        synchronized (storage) {
+            return new MappedListOfInts(storage, 0, storage.length);
+        }
+    }
+
+    /**
+     * Returns the file holding this list's elements.
+     *
+     * @return The path of the storage file, or null if this empty list has no file yet.
+     */
+    Path file() {
+        return storage == null ? null : storage.path;
+    }
+
+    /**
+     * Prepends a new element to the beginning of this list.
+     * The element is stored on the heap in front of the mapped elements.
+     *
+     * @param data The integer to prepend.
+     * @return A new ElementNode containing the given data, with this list as the next node.
+     */
+    @Override
+    public ListOfInts prepend(int data) {
+        return new ElementNode(data, this);
+    }
+
+    /**
+     * Appends a new element to the end of this list.
+     *
+     * @param data The integer to append.
+     * @return A new list with the given data appended to the end.
+     */
+    @Override
+    public ListOfInts append(int data) {
+        return appendAll(data);
+    }
+
+    /**
+     * Inserts a new element at the specified index in this list.
+     * Inserting before the end copies this list into a new file.
+     *
+     * @param data The integer to insert.
+     * @param index The position at which to insert the new element.
+     * @return A new list with the given data inserted at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the count.
+     */
+    @Override
+    public ListOfInts insertAtIndex(int data, int index) {
+        if (index < 0 || index > to - from) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        if (index == to - from) {
+            return append(data);
+        }
+        Storage copy = Storage.temporary();
+        copy.copyFrom(storage, from, from + index, 0);
+        copy.set(index, data);
+        copy.copyFrom(storage, from + index, to, index + 1);
+        copy.commit(to - from + 1);
+        return new MappedListOfInts(copy, 0, to - from + 1);
+    }
+
+    /**
+     * Retrieves the data at the specified index in this list.
+     *
+     * @param index The index of the data to retrieve.
+     * @return The integer at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    @Override
+    public int getDataAtIndex(int index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return storage.get(from + index);
+    }
+
+    /**
+     * Returns the rest of the list (all elements except the first).
+     * The rest shares this list's file.
+     *
+     * @return The list containing all elements after the first.
+     * @throws IllegalStateException If the list is empty.
+     */
+    @Override
+    public ListOfInts getRest() {
+        if (from == to) {
+            throw new IllegalStateException("Empty list has no rest.");
+        }
+        return new MappedListOfInts(storage, from + 1, to);
+    }
+
+    /**
+     * Returns the number of elements in the list, read from the bounds of the view.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountClassic() {
+        return to - from;
+    }
+
+    /**
+     * Returns the number of elements in the list using the helper method.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountWithHelper() {
+        return getCountHelper(0);
+    }
+
+    /**
+     * Helper method for counting elements in the list.
+     *
+     * @param acc The accumulator for counting.
+     * @return The accumulator plus the number of elements in the list.
+     */
+    @Override
+    public int getCountHelper(int acc) {
+        return acc + to - from;
+    }
+
+    /**
+     * Calculates the sum of all elements in the list, truncated to an int.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public int getSum() {
+        return (int) getLongSum();
+    }
+
+    /**
+     * Calculates the sum of all elements in the list with a 64-bit accumulator.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public long getLongSum() {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += storage.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns an iterator over the elements of the list.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list that splits at region boundaries
+     * when the list spans several regions.
+     *
+     * @return A spliterator over the elements, from first to last.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new MappedSpliterator(storage, from, to);
+    }
+
+    /**
+     * Appends all the given values to the end of this list.
+     * They are written in place when this is the newest view of its file.
+     *
+     * @param values The integers to add.
+     * @return A new list with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        return appendFrom(Arrays.stream(values).iterator(), values.length);
+    }
+
+    /**
+     * Returns the elements of this list followed by the elements of another list.
+     * The other list's elements are written to the file one at a time, without collecting them
+     * on the heap first.
+     *
+     * @param other The list whose elements come last.
+     * @return A new list holding both lists' elements.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        return appendFrom(other.iterator(), other.getCountWithHelper());
+    }
+
+    /**
+     * Flushes every element written so far, and the header recording them, to the file.
+     */
+    public void force() {
+        if (storage != null) {
+            storage.force();
+        }
+    }
+
+    /**
+     * Returns a string representation of the list.
+     *
+     * @return A string representation of the list in the format "[data, rest]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            sb.append('[').append(storage.get(i)).append(", ");
+        }
+        sb.append("[]");
+        for (int i = from; i < to; i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends values taken from an iterator, writing in place when this is the newest view of
+     * its file and into a copy of this view otherwise.
+     *
+     * @param values The integers to add.
+     * @param count The number of integers to take from the iterator.
+     * @return A new list with the values after the elements of this one.
+     */
+    private ListOfInts appendFrom(PrimitiveIterator.OfInt values, int count) {
+        if (count == 0) {
+            return this;
+        }
+        if (storage != null) {
+            synchronized (storage) {
+                if (storage.length == to) {
+                    storage.write(to, values, count);
+                    return new MappedListOfInts(storage, from, to + count);
+                }
+            }
+        }
+        Storage copy = Storage.temporary();
+        if (storage != null) {
+            copy.copyFrom(storage, from, to, 0);
+        }
+        copy.write(to - from, values, count);
+        return new MappedListOfInts(copy, 0, to - from + count);
+    }
+
+    /**
+     * Deletes a temporary file. It holds only the path, so that the storage it cleans up after
+     * can become unreachable.
+     */
+    private static final class TemporaryFileDeleter implements Runnable {
+        /** The file to delete. */
+        private final Path path;
+
+        /**
+         * Constructs a deleter for a file.
+         *
+         * @param path The file to delete.
+         */
+        private TemporaryFileDeleter(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Deletes the file, ignoring a file that is already gone or cannot be deleted.
+         */
+        @Override
+        public void run() {
+            TEMPORARY_FILES.remove(path);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // Nothing more can be done about a file that cannot be deleted
+            }
+        }
+    }
+
+    /**
+     * Represents a file of integers mapped into memory one region at a time.
+     * Regions are mapped when first used; positions below the committed length are never
+     * written again.
+     */
+    private static final class Storage {
+        /** The file holding the header and the elements. */
+        private final Path path;
+
+        /** The mapped header of the file. */
+        private final MappedByteBuffer header;
+
+        /** The regions mapped so far, indexed by region number; unmapped regions are null. */
+        private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+        /** The number of integers committed to the file, guarded by this storage. */
+        private int length;
+
+        /**
+         * Maps the header of a file, creating the file if it does not exist.
+         *
+         * @param path The file to map.
+         * @param length The number of integers already committed to the file.
+         * @throws IOException If the file cannot be mapped.
+         */
+        private Storage(Path path, int length) throws IOException {
+            this.path = path;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            }
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            this.length = length;
+            if (length == 0) {
+                header.putInt(0, MAGIC).putInt(4, 0);
+            }
+        }
+
+        /**
+         * Maps an existing list file and reads its length from the header.
+         *
+         * @param path The file to map.
+         * @return The storage for the file.
+         * @throws IOException If the file cannot be mapped or does not hold a list.
+         */
+        private static Storage existing(Path path) throws IOException {
+            long size = Files.size(path);
+            if (size < HEADER_BYTES) {
+                throw new IOException("Not a list file: " + path);
+            }
+            Storage storage = new Storage(path, -1);
+            int length = storage.header.getInt(4);
+            if (storage.header.getInt(0) != MAGIC || length < 0
+                    || length > (size - HEADER_BYTES) / Integer.BYTES) {
+                throw new IOException("Not a list file: " + path);
+            }
+            storage.length = length;
+            return storage;
+        }
+
+        /**
+         * Returns the storage of a list file, mapping the file unless a list still uses it.
+         *
+         * @param path The file to map.
+         * @return The storage shared by every list of the file.
+         * @throws IOException If the file cannot be mapped or does not hold a list.
+         */
+        private static Storage shared(Path path) throws IOException {
+            Path realPath = path.toRealPath();
+            synchronized (SHARED_FILES) {
+                WeakReference<Storage> reference = SHARED_FILES.get(realPath);
+                Storage storage = reference == null ? null : reference.get();
+                if (storage == null) {
+                    storage = existing(path);
+                    share(realPath, storage);
+                }
+                return storage;
+            }
+        }
+
+        /**
+         * Records the storage of a file, replacing any storage recorded before, until the storage
+         * is unreachable. The caller holds the lock on SHARED_FILES.
+         *
+         * @param realPath The real path of the file.
+         * @param storage The storage of the file.
+         */
+        private static void share(Path realPath, Storage storage) {
+            WeakReference<Storage> reference = new WeakReference<>(storage);
+            SHARED_FILES.put(realPath, reference);
+            CLEANER.register(storage, () -> {
+                synchronized (SHARED_FILES) {
+                    SHARED_FILES.remove(realPath, reference);
+                }
+            });
+        }
+
+        /**
+         * Creates storage in a new temporary file that is deleted once the storage is
+         * unreachable, or when the program exits.
+         *
+         * @return The storage for the new file.
+         */
+        private static Storage temporary() {
+            try {
+                Path path = Files.createTempFile("listofints", ".bin");
+                TEMPORARY_FILES.add(path);
+                Storage storage = new Storage(path, 0);
+                CLEANER.register(storage, new TemporaryFileDeleter(path));
+                return storage;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Reads the integer at a position.
+         *
+         * @param index The position to read.
+         * @return The integer stored there.
+         */
+        private int get(int index) {
+            return region(index / REGION_INTS).getInt((index % REGION_INTS) * Integer.BYTES);
+        }
+
+        /**
+         * Writes an integer at a position that is not yet committed.
+         *
+         * @param index The position to write.
+         * @param value The integer to store.
+         */
+        private void set(int index, int value) {
+            region(index / REGION_INTS).putInt((index % REGION_INTS) * Integer.BYTES, value);
+        }
+
+        /**
+         * Writes values taken from an iterator starting at a position and commits them.
+         *
+         * @param index The position of the first value.
+         * @param values The integers to store.
+         * @param count The number of integers to take from the iterator.
+         */
+        private synchronized void write(int index, PrimitiveIterator.OfInt values, int count) {
+            if (count > Integer.MAX_VALUE - index) {
+                throw new IllegalStateException("List is too long.");
+            }
+            for (int i = 0; i < count; i++) {
+                set(index + i, values.nextInt());
+            }
+            commit(index + count);
+        }
+
+        /**
+         * Copies a range of another storage into this one starting at a position.
+         *
+         * @param source The storage to copy from.
+         * @param from The index in the source of the first integer to copy.
+         * @param to The index in the source just past the last integer to copy.
+         * @param index The position in this storage of the first copied integer.
+         */
+        private void copyFrom(Storage source, int from, int to, int index) {
+            for (int i = from; i < to; i++) {
+                set(index + i - from, source.get(i));
+            }
+        }
+
+        /**
+         * Records a new committed length in memory and in the header.
+         *
+         * @param newLength The number of integers committed to the file.
+         */
+        private synchronized void commit(int newLength) {
+            length = newLength;
+            header.putInt(4, newLength);
+        }
+
+        /**
+         * Flushes the mapped regions and the header to the file.
+         */
+        private synchronized void force() {
+            for (MappedByteBuffer region : regions) {
+                if (region != null) {
+                    region.force();
+                }
+            }
+            header.force();
+        }
+
+        /**
+         * Returns a mapped region, mapping it and growing the file if needed.
+         *
+         * @param number The number of the region.
+         * @return The mapped region.
+         */
+        private MappedByteBuffer region(int number) {
+            MappedByteBuffer[] mapped = regions;
+            if (number < mapped.length && mapped[number] != null) {
+                return mapped[number];
+            }
+            return mapRegion(number);
+        }
+
+        /**
+         * Maps a region that no thread has mapped yet.
+         *
+         * @param number The number of the region.
+         * @return The mapped region.
+         */
+        private synchronized MappedByteBuffer mapRegion(int number) {
+            MappedByteBuffer[] mapped = regions;
+            if (number < mapped.length && mapped[number] != null) {
+                return mapped[number];
+            }
+            long offset = HEADER_BYTES + (long) number * REGION_INTS * Integer.BYTES;
+            MappedByteBuffer region;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                        (long) REGION_INTS * Integer.BYTES);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            region.order(ByteOrder.LITTLE_ENDIAN);
+            mapped = Arrays.copyOf(mapped, Math.max(mapped.length, number + 1));
+            mapped[number] = region;
+            regions = mapped;
+            return region;
+        }
+    }
+
+    /**
+     * Represents a spliterator over a range of a storage file.
+     * It splits at the region boundary nearest its middle when its range spans several regions,
+     * and at the middle otherwise.
+     */
+    private static final class MappedSpliterator implements Spliterator.OfInt {
+        /** The storage holding the elements. */
+        private final Storage storage;
+
+        /** The index of the next element. */
+        private int index;
+
+        /** The index just past the last element. */
+        private final int end;
+
+        /**
+         * Constructs a spliterator over a range of a storage file.
+         *
+         * @param storage The storage holding the elements.
+         * @param index The index of the first element.
+         * @param end The index just past the last element.
+         */
+        private MappedSpliterator(Storage storage, int index, int end) {
+            this.storage = storage;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index == end) {
+                return false;
+            }
+            action.accept(storage.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (; index < end; index++) {
+                action.accept(storage.get(index));
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int middle = index + (end - index) / 2;
+            long boundary = ((long) middle + REGION_INTS / 2) / REGION_INTS * REGION_INTS;
+            if (boundary > index && boundary < end) {
+                middle = (int) boundary;
+            }
+            if (middle - index < 2) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new MappedSpliterator(storage, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
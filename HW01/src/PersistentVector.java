@@ -0,0 +1,563 @@
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents an immutable list of integers stored in a bit-partitioned trie with 32-way branching.
+ * <p>
+ * Elements live in int array leaves of 32 values. Internal nodes are arrays of 32 children, and
+ * the last, possibly partial, leaf is kept outside the trie as a tail so that appends only copy
+ * the tail. Appending, reading and replacing an element touch at most one path of the trie, so
+ * they take O(log32 n) time, which is effectively constant. Nodes are never written after they
+ * are published, so every version shares all untouched nodes with the version it was made from.
+ * </p>
+ * <p>
+ * getRest returns a view that skips the first element and shares the whole trie. Prepending or
+ * inserting before the end has to rebuild the trie, so those take O(n) time.
+ * </p>
+ */
+public class PersistentVector implements ListOfInts {
+    /** The number of bits of an index consumed by each level of the trie. */
+    private static final int BITS = 5;
+
+    /** The number of children of an internal node and of elements in a full leaf. */
+    private static final int WIDTH = 1 << BITS;
+
+    /** The mask selecting one level's bits of an index. */
+    private static final int MASK = WIDTH - 1;
+
+    /** The empty tail shared by empty vectors. */
+    private static final int[] EMPTY_TAIL = new int[0];
+
+    /** The number of elements stored in the trie and tail, including skipped ones. */
+    private final int count;
+
+    /** The bit shift of the root level; 5 when the root's children are leaves. */
+    private final int shift;
+
+    /** The root of the trie; internal nodes are Object arrays and leaves are int arrays. */
+    private final Object[] root;
+
+    /** The last elements, not yet pushed into the trie. */
+    private final int[] tail;
+
+    /** The number of leading elements skipped by getRest. */
+    private final int start;
+
+    /**
+     * Constructs a new empty PersistentVector.
+     */
+    public PersistentVector() {
+        this(0, BITS, new Object[WIDTH], EMPTY_TAIL, 0);
+    }
+
+    /**
+     * Constructs a vector over the given trie and tail.
+     *
+     * @param count The number of elements stored, including skipped ones.
+     * @param shift The bit shift of the root level.
+     * @param root The root of the trie.
+     * @param tail The elements after the trie.
+     * @param start The number of leading elements to skip.
+     */
+    private PersistentVector(int count, int shift, Object[] root, int[] tail, int start) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+        this.start = start;
+    }
+
+    /**
+     * Prepends a new element to the beginning of this vector. This rebuilds the trie.
+     *
+     * @param data The integer to prepend.
+     * @return A new vector with the data before all elements of this one.
+     */
+    @Override
+    public ListOfInts prepend(int data) {
+        return insertAtIndex(data, 0);
+    }
+
+    /**
+     * Appends a new element to the end of this vector.
+     *
+     * @param data The integer to append.
+     * @return A new vector with the given data appended to the end.
+     */
+    @Override
+    public ListOfInts append(int data) {
+        if (count - tailOffset() < WIDTH) {
+            int[] newTail = new int[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = data;
+            return new PersistentVector(count + 1, shift, root, newTail, start);
+        }
+        return pushLeaf(new int[] {data});
+    }
+
+    /**
+     * Adds all the given values to the end of this vector. The tail is filled with one copy and
+     * the remaining values are pushed into the trie a whole leaf at a time.
+     *
+     * @param values The integers to add.
+     * @return A new vector with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        int tailLength = count - tailOffset();
+        if (tailLength + values.length <= WIDTH) {
+            int[] newTail = Arrays.copyOf(tail, tailLength + values.length);
+            System.arraycopy(values, 0, newTail, tailLength, values.length);
+            return new PersistentVector(count + values.length, shift, root, newTail, start);
+        }
+        int[] fullTail = Arrays.copyOf(tail, WIDTH);
+        int used = WIDTH - tailLength;
+        System.arraycopy(values, 0, fullTail, tailLength, used);
+        PersistentVector result = new PersistentVector(count + used, shift, root, fullTail, start);
+        while (used < values.length) {
+            int end = Math.min(used + WIDTH, values.length);
+            result = result.pushLeaf(Arrays.copyOfRange(values, used, end));
+            used = end;
+        }
+        return result;
+    }
+
+    /**
+     * Adds all the given values to the front of this vector. This rebuilds the trie.
+     *
+     * @param values The integers to add.
+     * @return A new vector with the values before the elements of this one.
+     */
+    @Override
+    public ListOfInts prependAll(int... values) {
+        int size = count - start;
+        int[] merged = new int[values.length + size];
+        System.arraycopy(values, 0, merged, 0, values.length);
+        copyTo(merged, 0, size, values.length);
+        return fromArray(merged, merged.length);
+    }
+
+    /**
+     * Returns the elements of this vector followed by the elements of another list.
+     * This builds a new trie holding both.
+     *
+     * @param other The list whose elements come last.
+     * @return A new vector holding both lists' elements.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        return appendAll(other.toArray());
+    }
+
+    /**
+     * Inserts a new element at the specified index in this vector.
+     * Inserting at the end is an append; anywhere else the trie is rebuilt.
+     *
+     * @param data The integer to insert.
+     * @param index The position at which to insert the new element.
+     * @return A new vector with the given data inserted at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the size.
+     */
+    @Override
+    public ListOfInts insertAtIndex(int data, int index) {
+        int size = count - start;
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        if (index == size) {
+            return append(data);
+        }
+        int[] values = new int[size + 1];
+        copyTo(values, 0, index, 0);
+        values[index] = data;
+        copyTo(values, index, size, index + 1);
+        return fromArray(values, values.length);
+    }
+
+    /**
+     * Retrieves the data at the specified index in this vector.
+     *
+     * @param index The index of the data to retrieve.
+     * @return The integer at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    @Override
+    public int getDataAtIndex(int index) {
+        if (index < 0 || index >= count - start) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        int position = start + index;
+        return leafFor(position)[position & MASK];
+    }
+
+    /**
+     * Replaces the data at the specified index, copying only the path to that element.
+     *
+     * @param data The integer to store.
+     * @param index The position of the element to replace.
+     * @return A new vector with the element at the index replaced by the data.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    public PersistentVector setDataAtIndex(int data, int index) {
+        if (index < 0 || index >= count - start) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        int position = start + index;
+        if (position >= tailOffset()) {
+            int[] newTail = tail.clone();
+            newTail[position & MASK] = data;
+            return new PersistentVector(count, shift, root, newTail, start);
+        }
+        Object[] newRoot = (Object[]) assoc(shift, root, position, data);
+        return new PersistentVector(count, shift, newRoot, tail, start);
+    }
+
+    /**
+     * Returns the rest of the vector (all elements except the first).
+     *
+     * @return A view of this vector that skips its first element.
+     * @throws IllegalStateException If the vector is empty.
+     */
+    @Override
+    public ListOfInts getRest() {
+        if (count == start) {
+            throw new IllegalStateException("Empty list has no rest.");
+        }
+        return new PersistentVector(count, shift, root, tail, start + 1);
+    }
+
+    /**
+     * Returns the number of elements in the vector.
+     *
+     * @return The number of elements in the vector.
+     */
+    @Override
+    public int getCountClassic() {
+        return count - start;
+    }
+
+    /**
+     * Returns the number of elements in the vector using the helper method.
+     *
+     * @return The number of elements in the vector.
+     */
+    @Override
+    public int getCountWithHelper() {
+        return getCountHelper(0);
+    }
+
+    /**
+     * Helper method for counting elements in the vector.
+     *
+     * @param acc The accumulator for counting.
+     * @return The accumulator plus the number of elements in the vector.
+     */
+    @Override
+    public int getCountHelper(int acc) {
+        return acc + count - start;
+    }
+
+    /**
+     * Calculates the sum of all elements in the vector.
+     *
+     * @return The sum of all integers in the vector.
+     */
+    @Override
+    public int getSum() {
+        return (int) getLongSum();
+    }
+
+    /**
+     * Calculates the sum of all elements in the vector as a long, one leaf at a time.
+     *
+     * @return The sum of all integers in the vector.
+     */
+    @Override
+    public long getLongSum() {
+        long sum = 0;
+        int position = start;
+        while (position < count) {
+            int[] leaf = leafFor(position);
+            for (int i = position & MASK; i < leaf.length; i++) {
+                sum += leaf[i];
+            }
+            position = (position | MASK) + 1;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns an iterator over the elements of the vector, one leaf at a time.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over the elements of the vector that splits index ranges in half
+     * at leaf boundaries.
+     *
+     * @return A spliterator over the elements, from first to last.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new VectorSpliterator(start, count);
+    }
+
+    /**
+     * Returns a string representation of the vector.
+     *
+     * @return A string representation of the vector in the format "[data, rest]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int position = start;
+        while (position < count) {
+            int[] leaf = leafFor(position);
+            for (int i = position & MASK; i < leaf.length; i++) {
+                sb.append('[').append(leaf[i]).append(", ");
+            }
+            position = (position | MASK) + 1;
+        }
+        sb.append("[]");
+        for (int i = start; i < count; i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds a vector holding the first length values of an array, filling the trie bottom-up.
+     *
+     * @param values The values to store, in order; the array is not kept.
+     * @param length The number of values to take from the array.
+     * @return A new vector holding the values.
+     */
+    static PersistentVector fromArray(int[] values, int length) {
+        if (length == 0) {
+            return new PersistentVector();
+        }
+        int tailOffset = ((length - 1) >>> BITS) << BITS;
+        int[] tail = new int[length - tailOffset];
+        System.arraycopy(values, tailOffset, tail, 0, tail.length);
+        Object[] level = new Object[tailOffset >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            int[] leaf = new int[WIDTH];
+            System.arraycopy(values, i << BITS, leaf, 0, WIDTH);
+            level[i] = leaf;
+        }
+        int shift = BITS;
+        while (level.length > WIDTH) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                Object[] node = new Object[WIDTH];
+                int children = Math.min(WIDTH, level.length - (i << BITS));
+                System.arraycopy(level, i << BITS, node, 0, children);
+                parents[i] = node;
+            }
+            level = parents;
+            shift += BITS;
+        }
+        Object[] root = new Object[WIDTH];
+        System.arraycopy(level, 0, root, 0, level.length);
+        return new PersistentVector(length, shift, root, tail, 0);
+    }
+
+    /**
+     * Pushes the full tail into the trie and starts a new tail.
+     *
+     * @param newTail The new tail, holding 1 to 32 elements.
+     * @return A new vector with the old tail in the trie and the new tail after it.
+     */
+    private PersistentVector pushLeaf(int[] newTail) {
+        Object[] newRoot;
+        int newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector(count + newTail.length, newShift, newRoot, newTail, start);
+    }
+
+    /**
+     * Returns the index of the first element stored in the tail.
+     *
+     * @return The number of elements stored in the trie.
+     */
+    private int tailOffset() {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Finds the leaf holding the element at a position.
+     *
+     * @param position The position of the element, counting skipped elements.
+     * @return The leaf or tail array holding that element.
+     */
+    private int[] leafFor(int position) {
+        if (position >= tailOffset()) {
+            return tail;
+        }
+        Object node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = ((Object[]) node)[(position >>> level) & MASK];
+        }
+        return (int[]) node;
+    }
+
+    /**
+     * Copies the elements at indexes from (inclusive) to to (exclusive) into an array.
+     *
+     * @param dest The array to copy into.
+     * @param from The index of the first element to copy.
+     * @param to The index just past the last element to copy.
+     * @param destPos The position in dest of the first copied element.
+     */
+    private void copyTo(int[] dest, int from, int to, int destPos) {
+        int position = start + from;
+        int end = start + to;
+        while (position < end) {
+            int[] leaf = leafFor(position);
+            int offset = position & MASK;
+            int length = Math.min(leaf.length - offset, end - position);
+            System.arraycopy(leaf, offset, dest, destPos, length);
+            destPos += length;
+            position += length;
+        }
+    }
+
+    /**
+     * Copies the path to the rightmost free slot and hangs a full tail there.
+     *
+     * @param level The bit shift of the node being copied.
+     * @param parent The node being copied.
+     * @param leaf The full tail to push into the trie.
+     * @return A copy of the parent holding the leaf.
+     */
+    private Object[] pushTail(int level, Object[] parent, int[] leaf) {
+        int index = ((count - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[index] = leaf;
+        } else {
+            Object child = parent[index];
+            copy[index] = child != null
+                    ? pushTail(level - BITS, (Object[]) child, leaf)
+                    : newPath(level - BITS, leaf);
+        }
+        return copy;
+    }
+
+    /**
+     * Builds a chain of single-child nodes leading down to a leaf.
+     *
+     * @param level The bit shift of the top node of the chain.
+     * @param leaf The leaf at the bottom of the chain.
+     * @return The top of the chain, or the leaf itself at level 0.
+     */
+    private static Object newPath(int level, int[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Copies the path to a position and replaces the element there.
+     *
+     * @param level The bit shift of the node being copied.
+     * @param node The node being copied.
+     * @param position The position of the element to replace.
+     * @param data The integer to store.
+     * @return A copy of the node with the element replaced.
+     */
+    private static Object assoc(int level, Object node, int position, int data) {
+        if (level == 0) {
+            int[] leaf = ((int[]) node).clone();
+            leaf[position & MASK] = data;
+            return leaf;
+        }
+        Object[] copy = ((Object[]) node).clone();
+        int index = (position >>> level) & MASK;
+        copy[index] = assoc(level - BITS, copy[index], position, data);
+        return copy;
+    }
+
+    /**
+     * Represents a spliterator over a range of positions in this vector.
+     */
+    private final class VectorSpliterator implements Spliterator.OfInt {
+        /** The position of the next element. */
+        private int position;
+
+        /** The position just past the last element. */
+        private final int end;
+
+        /**
+         * Constructs a spliterator over the positions from position (inclusive) to end (exclusive).
+         *
+         * @param position The position of the first element.
+         * @param end The position just past the last element.
+         */
+        private VectorSpliterator(int position, int end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (position >= end) {
+                return false;
+            }
+            action.accept(leafFor(position)[position & MASK]);
+            position++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (position < end) {
+                int[] leaf = leafFor(position);
+                int stop = Math.min(leaf.length, (position & MASK) + end - position);
+                for (int i = position & MASK; i < stop; i++) {
+                    action.accept(leaf[i]);
+                }
+                position = (position | MASK) + 1;
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int middle = ((position + end) >>> 1) & ~MASK;
+            if (middle <= position) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new VectorSpliterator(position, middle);
+            position = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
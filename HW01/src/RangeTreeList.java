@@ -0,0 +1,718 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents an immutable list of integers stored in a weight-balanced binary tree, ordered by
+ * position. Every tree node caches the count, sum, minimum and maximum of its subtree, so range
+ * aggregates, indexed reads and insertions anywhere in the list take O(log n) time.
+ * <p>
+ * Updates copy only the path from the root to the changed node and share every other subtree
+ * with the previous version. The tree is kept balanced with the single and double rotations of
+ * Adams' weight-balanced trees, with a balance factor of 3 and a rotation ratio of 2.
+ * </p>
+ */
+public class RangeTreeList implements ListOfInts {
+    /** How many times larger one subtree may be than its sibling before rebalancing. */
+    private static final int DELTA = 3;
+
+    /** The size ratio that decides between a single and a double rotation. */
+    private static final int RATIO = 2;
+
+    /** The root of the tree, or null for the empty list. */
+    private final Node root;
+
+    /**
+     * Represents a tree node holding one element and the aggregates of its subtree.
+     */
+    private static final class Node {
+        /** The element stored at this node. */
+        private final int value;
+
+        /** The subtree of elements before this one, or null. */
+        private final Node left;
+
+        /** The subtree of elements after this one, or null. */
+        private final Node right;
+
+        /** The number of elements in this subtree. */
+        private final int size;
+
+        /** The sum of the elements in this subtree. */
+        private final long sum;
+
+        /** The smallest element in this subtree. */
+        private final int min;
+
+        /** The largest element in this subtree. */
+        private final int max;
+
+        /**
+         * Constructs a node and computes its aggregates from its children.
+         *
+         * @param left The subtree of elements before this one, or null.
+         * @param value The element stored at this node.
+         * @param right The subtree of elements after this one, or null.
+         */
+        private Node(Node left, int value, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            int size = 1;
+            long sum = value;
+            int min = value;
+            int max = value;
+            if (left != null) {
+                size += left.size;
+                sum += left.sum;
+                min = Math.min(min, left.min);
+                max = Math.max(max, left.max);
+            }
+            if (right != null) {
+                size += right.size;
+                sum += right.sum;
+                min = Math.min(min, right.min);
+                max = Math.max(max, right.max);
+            }
+            this.size = size;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    /**
+     * Constructs a new empty RangeTreeList.
+     */
+    public RangeTreeList() {
+        this(null);
+    }
+
+    /**
+     * Constructs a list over the given tree.
+     *
+     * @param root The root of the tree, or null for the empty list.
+     */
+    private RangeTreeList(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Prepends a new element to the beginning of this list.
+     *
+     * @param data The integer to prepend.
+     * @return A new list with the given data at the front.
+     */
+    @Override
+    public ListOfInts prepend(int data) {
+        return new RangeTreeList(insert(root, 0, data));
+    }
+
+    /**
+     * Appends a new element to the end of this list.
+     *
+     * @param data The integer to append.
+     * @return A new list with the given data appended to the end.
+     */
+    @Override
+    public ListOfInts append(int data) {
+        return new RangeTreeList(insert(root, size(root), data));
+    }
+
+    /**
+     * Inserts a new element at the specified index in this list.
+     *
+     * @param data The integer to insert.
+     * @param index The position at which to insert the new element.
+     * @return A new list with the given data inserted at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the size.
+     */
+    @Override
+    public ListOfInts insertAtIndex(int data, int index) {
+        if (index < 0 || index > size(root)) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return new RangeTreeList(insert(root, index, data));
+    }
+
+    /**
+     * Retrieves the data at the specified index in this list.
+     *
+     * @param index The index of the data to retrieve.
+     * @return The integer at the specified index.
+     * @throws IndexOutOfBoundsException If the index is negative or out of bounds.
+     */
+    @Override
+    public int getDataAtIndex(int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the rest of the list (all elements except the first).
+     *
+     * @return The list containing all elements after the first.
+     * @throws IllegalStateException If the list is empty.
+     */
+    @Override
+    public ListOfInts getRest() {
+        if (root == null) {
+            throw new IllegalStateException("Empty list has no rest.");
+        }
+        return new RangeTreeList(removeFirst(root));
+    }
+
+    /**
+     * Returns the number of elements in the list, cached at the root.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountClassic() {
+        return size(root);
+    }
+
+    /**
+     * Returns the number of elements in the list using the helper method.
+     *
+     * @return The number of elements in the list.
+     */
+    @Override
+    public int getCountWithHelper() {
+        return getCountHelper(0);
+    }
+
+    /**
+     * Helper method for counting elements in the list.
+     *
+     * @param acc The accumulator for counting.
+     * @return The accumulator plus the number of elements in the list.
+     */
+    @Override
+    public int getCountHelper(int acc) {
+        return acc + size(root);
+    }
+
+    /**
+     * Returns the sum of all elements in the list, truncated to an int.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public int getSum() {
+        return (int) getLongSum();
+    }
+
+    /**
+     * Returns the sum of all elements in the list, cached at the root.
+     *
+     * @return The sum of all integers in the list.
+     */
+    @Override
+    public long getLongSum() {
+        return root == null ? 0 : root.sum;
+    }
+
+    /**
+     * Returns the sum of the elements at indexes from (inclusive) to to (exclusive).
+     *
+     * @param from The index of the first element in the range.
+     * @param to The index just past the last element in the range.
+     * @return The sum of the elements in the range, or 0 if it is empty.
+     * @throws IndexOutOfBoundsException If the range does not lie within the list.
+     */
+    public long sum(int from, int to) {
+        checkRange(from, to);
+        return sum(root, from, to);
+    }
+
+    /**
+     * Returns the smallest element at indexes from (inclusive) to to (exclusive).
+     *
+     * @param from The index of the first element in the range.
+     * @param to The index just past the last element in the range.
+     * @return The smallest element in the range.
+     * @throws IndexOutOfBoundsException If the range does not lie within the list.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public int min(int from, int to) {
+        checkNonEmptyRange(from, to);
+        return min(root, from, to);
+    }
+
+    /**
+     * Returns the largest element at indexes from (inclusive) to to (exclusive).
+     *
+     * @param from The index of the first element in the range.
+     * @param to The index just past the last element in the range.
+     * @return The largest element in the range.
+     * @throws IndexOutOfBoundsException If the range does not lie within the list.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public int max(int from, int to) {
+        checkNonEmptyRange(from, to);
+        return max(root, from, to);
+    }
+
+    /**
+     * Adds all the given values to the end of this list by joining a balanced tree of the values
+     * onto this one.
+     *
+     * @param values The integers to add.
+     * @return A new list with the values after the elements of this one.
+     */
+    @Override
+    public ListOfInts appendAll(int... values) {
+        return new RangeTreeList(join(root, build(values, 0, values.length)));
+    }
+
+    /**
+     * Adds all the given values to the front of this list by joining this tree onto a balanced
+     * tree of the values.
+     *
+     * @param values The integers to add.
+     * @return A new list with the values before the elements of this one.
+     */
+    @Override
+    public ListOfInts prependAll(int... values) {
+        return new RangeTreeList(join(build(values, 0, values.length), root));
+    }
+
+    /**
+     * Returns the elements of this list followed by the elements of another list.
+     * Two RangeTreeLists are joined in O(log n) time, sharing both trees.
+     *
+     * @param other The list whose elements come last.
+     * @return A new list holding both lists' elements.
+     */
+    @Override
+    public ListOfInts concat(ListOfInts other) {
+        if (other instanceof RangeTreeList) {
+            return new RangeTreeList(join(root, ((RangeTreeList) other).root));
+        }
+        int[] values = other.toArray();
+        return new RangeTreeList(join(root, build(values, 0, values.length)));
+    }
+
+    /**
+     * Returns an iterator over the elements of the list, in order.
+     *
+     * @return An iterator over the elements, from first to last.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list that splits index ranges in half.
+     *
+     * @return A spliterator over the elements, from first to last.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new RangeSpliterator(0, size(root));
+    }
+
+    /**
+     * Returns a string representation of the list.
+     *
+     * @return A string representation of the list in the format "[data, rest]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            sb.append('[').append(node.value).append(", ");
+            node = node.right;
+        }
+        sb.append("[]");
+        for (int i = 0; i < size(root); i++) {
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks that from and to describe a range within the list.
+     *
+     * @param from The index of the first element in the range.
+     * @param to The index just past the last element in the range.
+     * @throws IndexOutOfBoundsException If the range does not lie within the list.
+     */
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size(root) || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range: " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Checks that from and to describe a non-empty range within the list.
+     *
+     * @param from The index of the first element in the range.
+     * @param to The index just past the last element in the range.
+     * @throws IndexOutOfBoundsException If the range does not lie within the list.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    private void checkNonEmptyRange(int from, int to) {
+        checkRange(from, to);
+        if (from == to) {
+            throw new IllegalArgumentException("Empty range has no minimum or maximum.");
+        }
+    }
+
+    /**
+     * Returns the number of elements in a subtree.
+     *
+     * @param node The subtree, or null.
+     * @return The size of the subtree, or 0 if it is null.
+     */
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Sums the elements of a subtree at indexes from (inclusive) to to (exclusive).
+     *
+     * @param node The subtree.
+     * @param from The first index of the range, relative to the subtree.
+     * @param to The index just past the range, relative to the subtree.
+     * @return The sum of the elements in the range.
+     */
+    private static long sum(Node node, int from, int to) {
+        if (node == null || from >= to) {
+            return 0;
+        }
+        if (from == 0 && to == node.size) {
+            return node.sum;
+        }
+        int leftSize = size(node.left);
+        long sum = 0;
+        if (from < leftSize) {
+            sum += sum(node.left, from, Math.min(to, leftSize));
+        }
+        if (from <= leftSize && leftSize < to) {
+            sum += node.value;
+        }
+        if (to > leftSize + 1) {
+            sum += sum(node.right, Math.max(from - leftSize - 1, 0), to - leftSize - 1);
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the smallest element of a subtree at indexes from (inclusive) to to (exclusive).
+     *
+     * @param node The subtree.
+     * @param from The first index of the non-empty range, relative to the subtree.
+     * @param to The index just past the range, relative to the subtree.
+     * @return The smallest element in the range.
+     */
+    private static int min(Node node, int from, int to) {
+        if (from == 0 && to == node.size) {
+            return node.min;
+        }
+        int leftSize = size(node.left);
+        int min = Integer.MAX_VALUE;
+        if (from < leftSize) {
+            min = Math.min(min, min(node.left, from, Math.min(to, leftSize)));
+        }
+        if (from <= leftSize && leftSize < to) {
+            min = Math.min(min, node.value);
+        }
+        if (to > leftSize + 1) {
+            int rightFrom = Math.max(from - leftSize - 1, 0);
+            min = Math.min(min, min(node.right, rightFrom, to - leftSize - 1));
+        }
+        return min;
+    }
+
+    /**
+     * Finds the largest element of a subtree at indexes from (inclusive) to to (exclusive).
+     *
+     * @param node The subtree.
+     * @param from The first index of the non-empty range, relative to the subtree.
+     * @param to The index just past the range, relative to the subtree.
+     * @return The largest element in the range.
+     */
+    private static int max(Node node, int from, int to) {
+        if (from == 0 && to == node.size) {
+            return node.max;
+        }
+        int leftSize = size(node.left);
+        int max = Integer.MIN_VALUE;
+        if (from < leftSize) {
+            max = Math.max(max, max(node.left, from, Math.min(to, leftSize)));
+        }
+        if (from <= leftSize && leftSize < to) {
+            max = Math.max(max, node.value);
+        }
+        if (to > leftSize + 1) {
+            int rightFrom = Math.max(from - leftSize - 1, 0);
+            max = Math.max(max, max(node.right, rightFrom, to - leftSize - 1));
+        }
+        return max;
+    }
+
+    /**
+     * Inserts an element into a subtree, copying the path to it and rebalancing on the way up.
+     *
+     * @param node The subtree, or null.
+     * @param index The position of the new element, relative to the subtree.
+     * @param value The element to insert.
+     * @return The new subtree.
+     */
+    private static Node insert(Node node, int index, int value) {
+        if (node == null) {
+            return new Node(null, value, null);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(insert(node.left, index, value), node.value, node.right);
+        }
+        return balance(node.left, node.value, insert(node.right, index - leftSize - 1, value));
+    }
+
+    /**
+     * Removes the first element of a subtree, rebalancing on the way up.
+     *
+     * @param node The non-empty subtree.
+     * @return The subtree without its first element, or null if it becomes empty.
+     */
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(removeFirst(node.left), node.value, node.right);
+    }
+
+    /**
+     * Builds a perfectly balanced tree from a range of an array.
+     *
+     * @param values The values to store, in order.
+     * @param from The index of the first value to store.
+     * @param to The index just past the last value to store.
+     * @return The root of the tree, or null if the range is empty.
+     */
+    private static Node build(int[] values, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node(build(values, from, middle), values[middle], build(values, middle + 1, to));
+    }
+
+    /**
+     * Joins two trees so that the elements of the first come before those of the second.
+     *
+     * @param left The tree of the first elements, or null.
+     * @param right The tree of the last elements, or null.
+     * @return The joined tree.
+     */
+    private static Node join(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        Node first = right;
+        while (first.left != null) {
+            first = first.left;
+        }
+        return link(left, first.value, removeFirst(right));
+    }
+
+    /**
+     * Builds a balanced tree from two trees of any sizes and the element between them,
+     * descending along the heavier tree until the sizes are close enough to join directly.
+     *
+     * @param left The tree of the elements before the middle one, or null.
+     * @param value The middle element.
+     * @param right The tree of the elements after the middle one, or null.
+     * @return The balanced tree.
+     */
+    private static Node link(Node left, int value, Node right) {
+        if (left == null) {
+            return insert(right, 0, value);
+        }
+        if (right == null) {
+            return insert(left, left.size, value);
+        }
+        if (DELTA * left.size < right.size) {
+            return balance(link(left, value, right.left), right.value, right.right);
+        }
+        if (DELTA * right.size < left.size) {
+            return balance(left.left, left.value, link(left.right, value, right));
+        }
+        return new Node(left, value, right);
+    }
+
+    /**
+     * Builds a node from two subtrees that differ in weight by at most one insertion or removal,
+     * rotating if they are out of balance.
+     *
+     * @param left The subtree before the element.
+     * @param value The element.
+     * @param right The subtree after the element.
+     * @return The balanced subtree.
+     */
+    private static Node balance(Node left, int value, Node right) {
+        int leftSize = size(left);
+        int rightSize = size(right);
+        if (leftSize + rightSize <= 1) {
+            return new Node(left, value, right);
+        }
+        if (rightSize > DELTA * leftSize) {
+            return rotateLeft(left, value, right);
+        }
+        if (leftSize > DELTA * rightSize) {
+            return rotateRight(left, value, right);
+        }
+        return new Node(left, value, right);
+    }
+
+    /**
+     * Moves weight from a heavy right subtree to the left.
+     *
+     * @param left The light subtree before the element.
+     * @param value The element.
+     * @param right The heavy subtree after the element.
+     * @return The rotated subtree.
+     */
+    private static Node rotateLeft(Node left, int value, Node right) {
+        Node inner = right.left;
+        if (size(inner) < RATIO * size(right.right)) {
+            return new Node(new Node(left, value, inner), right.value, right.right);
+        }
+        return new Node(new Node(left, value, inner.left), inner.value,
+                new Node(inner.right, right.value, right.right));
+    }
+
+    /**
+     * Moves weight from a heavy left subtree to the right.
+     *
+     * @param left The heavy subtree before the element.
+     * @param value The element.
+     * @param right The light subtree after the element.
+     * @return The rotated subtree.
+     */
+    private static Node rotateRight(Node left, int value, Node right) {
+        Node inner = left.right;
+        if (size(inner) < RATIO * size(left.left)) {
+            return new Node(left.left, left.value, new Node(inner, value, right));
+        }
+        return new Node(new Node(left.left, left.value, inner.left), inner.value,
+                new Node(inner.right, value, right));
+    }
+
+    /**
+     * Represents a spliterator over a range of indexes in this list.
+     * It finds its first element in O(log n) time and then walks the tree in order.
+     */
+    private final class RangeSpliterator implements Spliterator.OfInt {
+        /** The index of the next element. */
+        private int from;
+
+        /** The index just past the last element. */
+        private final int to;
+
+        /** The nodes still to visit in order, with the next one on top, or null before seeking. */
+        private Deque<Node> path;
+
+        /**
+         * Constructs a spliterator over the indexes from (inclusive) to to (exclusive).
+         *
+         * @param from The index of the first element.
+         * @param to The index just past the last element.
+         */
+        private RangeSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            if (path == null) {
+                seek();
+            }
+            Node node = path.pop();
+            for (Node child = node.right; child != null; child = child.left) {
+                path.push(child);
+            }
+            from++;
+            action.accept(node.value);
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new RangeSpliterator(from, middle);
+            from = middle;
+            path = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+
+        /**
+         * Pushes the nodes on the way to the next element, keeping those that come after it.
+         */
+        private void seek() {
+            path = new ArrayDeque<>();
+            int index = from;
+            Node node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (index < leftSize) {
+                    path.push(node);
+                    node = node.left;
+                } else if (index == leftSize) {
+                    path.push(node);
+                    return;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for AnnotatedNode.
+ * Runs every ListOfIntsTest case against annotated lists, plus tests of the recorded values.
+ */
+public class AnnotatedNodeTest extends ListOfIntsTest {
+
+    /**
+     * Creates an empty list that builds AnnotatedNodes.
+     *
+     * @return a new empty annotated list
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        return AnnotatedNode.empty();
+    }
+
+    /**
+     * Tests that every operation keeps producing annotated nodes.
+     */
+    @Test
+    public void testOperationsStayAnnotated() {
+        ListOfInts list = AnnotatedNode.empty().append(2).prepend(1).insertAtIndex(3, 2);
+        assertEquals("[1, [2, [3, []]]]", list.toString());
+        for (ListOfInts node = list; node.getCountClassic() > 0; node = node.getRest()) {
+            assertTrue(node instanceof AnnotatedNode);
+        }
+    }
+
+    /**
+     * Tests that counts and sums are recorded for every suffix.
+     */
+    @Test
+    public void testRecordedCountAndSum() {
+        ListOfInts list = AnnotatedNode.empty();
+        for (int i = 1; i <= 100; i++) {
+            list = list.prepend(i);
+        }
+        assertEquals(100, list.getCountClassic());
+        assertEquals(105, list.getCountHelper(5));
+        assertEquals(5050, list.getLongSum());
+        assertEquals(99, list.getRest().getCountWithHelper());
+        assertEquals(4950, list.getRest().getSum());
+    }
+
+    /**
+     * Tests annotated nodes placed over a plain ElementNode list.
+     */
+    @Test
+    public void testOverPlainList() {
+        ListOfInts plain = new EmptyNode().prepend(Integer.MAX_VALUE).prepend(Integer.MAX_VALUE);
+        ListOfInts list = new AnnotatedNode(1, plain);
+        assertEquals(3, list.getCountClassic());
+        assertEquals(2L * Integer.MAX_VALUE + 1, list.getLongSum());
+        ListOfInts appended = list.append(7);
+        assertEquals("[1, [2147483647, [2147483647, [7, []]]]]", appended.toString());
+        assertEquals(4, appended.getCountWithHelper());
+        assertEquals(7, appended.getDataAtIndex(3));
+    }
+
+    /**
+     * Tests inserting at invalid indexes.
+     */
+    @Test
+    public void testInsertAtInvalidIndex() {
+        ListOfInts list = AnnotatedNode.empty().append(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insertAtIndex(0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insertAtIndex(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> AnnotatedNode.empty().insertAtIndex(0, 1));
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for AtomicListOfInts.
+ */
+public class AtomicListOfIntsTest {
+
+    /**
+     * Tests that each change installs a new list and bumps the version.
+     */
+    @Test
+    public void testUpdateAndVersion() {
+        AtomicListOfInts holder = new AtomicListOfInts();
+        assertEquals("[]", holder.toString());
+        assertEquals(0, holder.getVersion());
+        holder.prepend(2);
+        ListOfInts list = holder.update(current -> current.prepend(1).append(3));
+        assertSame(list, holder.get());
+        assertEquals("[1, [2, [3, []]]]", holder.toString());
+        assertEquals(2, holder.getVersion());
+    }
+
+    /**
+     * Tests that a snapshot stays unchanged and that a stale one cannot be installed over.
+     */
+    @Test
+    public void testSnapshot() {
+        AtomicListOfInts holder = new AtomicListOfInts(new ChunkedList().append(1));
+        AtomicListOfInts.Snapshot snapshot = holder.snapshot();
+        holder.prepend(0);
+        assertEquals("[1, []]", snapshot.getList().toString());
+        assertEquals(0, snapshot.getVersion());
+        assertFalse(holder.compareAndSet(snapshot, new EmptyNode()));
+        assertTrue(holder.compareAndSet(holder.snapshot(), snapshot.getList().append(2)));
+        assertEquals("[1, [2, []]]", holder.toString());
+        assertEquals(2, holder.getVersion());
+    }
+
+    /**
+     * Tests that no prepend is lost when many threads prepend at once.
+     */
+    @Test
+    public void testConcurrentPrepends() throws InterruptedException {
+        AtomicListOfInts holder = new AtomicListOfInts();
+        int threads = 8;
+        int perThread = 10_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    holder.prepend(1);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * perThread, holder.get().getCountClassic());
+        assertEquals(threads * perThread, holder.get().getSum());
+        assertEquals(threads * perThread, holder.getVersion());
+    }
+}
@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for ChunkedList.
+ * Runs every ListOfIntsTest case against ChunkedList, plus tests that cross chunk boundaries.
+ */
+public class ChunkedListTest extends ListOfIntsTest {
+
+    /** A size spanning several full chunks and a partial one. */
+    private static final int SIZE = ChunkedList.CHUNK_SIZE * 5 + 7;
+
+    /**
+     * Creates an empty ChunkedList.
+     *
+     * @return a new empty ChunkedList
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        return new ChunkedList();
+    }
+
+    /**
+     * Tests that appending across chunk boundaries keeps every element in order.
+     */
+    @Test
+    public void testAppendAcrossChunks() {
+        ListOfInts list = new ChunkedList();
+        for (int i = 0; i < SIZE; i++) {
+            list = list.append(i);
+        }
+        assertEquals(SIZE, list.getCountClassic());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, list.getDataAtIndex(i));
+        }
+    }
+
+    /**
+     * Tests that prepending across chunk boundaries keeps every element in order.
+     */
+    @Test
+    public void testPrependAcrossChunks() {
+        ListOfInts list = new ChunkedList();
+        for (int i = SIZE - 1; i >= 0; i--) {
+            list = list.prepend(i);
+        }
+        assertEquals(SIZE, list.getCountWithHelper());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, list.getDataAtIndex(i));
+        }
+        assertEquals(SIZE * (SIZE - 1) / 2, list.getSum());
+    }
+
+    /**
+     * Tests inserting into full chunks at every position.
+     */
+    @Test
+    public void testInsertAtEveryIndex() {
+        ListOfInts list = new ChunkedList();
+        for (int i = 0; i < SIZE; i++) {
+            list = list.append(i);
+        }
+        for (int index = 0; index <= SIZE; index++) {
+            ListOfInts inserted = list.insertAtIndex(-1, index);
+            assertEquals(SIZE + 1, inserted.getCountClassic());
+            assertEquals(-1, inserted.getDataAtIndex(index));
+            assertEquals(SIZE * (SIZE - 1) / 2 - 1, inserted.getSum());
+            if (index > 0) {
+                assertEquals(index - 1, inserted.getDataAtIndex(index - 1));
+            }
+            if (index < SIZE) {
+                assertEquals(index, inserted.getDataAtIndex(index + 1));
+            }
+        }
+    }
+
+    /**
+     * Tests that older versions are unchanged by later operations.
+     */
+    @Test
+    public void testVersionsAreIndependent() {
+        ListOfInts base = new ChunkedList().append(1).append(2).append(3);
+        ListOfInts appended = base.append(4);
+        ListOfInts prepended = base.prepend(0);
+        ListOfInts inserted = base.insertAtIndex(9, 1);
+        assertEquals("[1, [2, [3, []]]]", base.toString());
+        assertEquals("[1, [2, [3, [4, []]]]]", appended.toString());
+        assertEquals("[0, [1, [2, [3, []]]]]", prepended.toString());
+        assertEquals("[1, [9, [2, [3, []]]]]", inserted.toString());
+    }
+
+    /**
+     * Tests walking a list with getRest until it is empty.
+     */
+    @Test
+    public void testGetRestAcrossChunks() {
+        ListOfInts list = new ChunkedList();
+        for (int i = 0; i < SIZE; i++) {
+            list = list.append(i);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, list.getDataAtIndex(0));
+            assertEquals(SIZE - i, list.getCountClassic());
+            list = list.getRest();
+        }
+        assertEquals("[]", list.toString());
+        ListOfInts empty = list;
+        assertThrows(IllegalStateException.class, empty::getRest);
+    }
+
+    /**
+     * Tests retrieving data at indexes past the end.
+     */
+    @Test
+    public void testGetDataAtIndexOutOfBounds() {
+        ListOfInts list = new ChunkedList().append(1).append(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getDataAtIndex(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getDataAtIndex(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insertAtIndex(0, -1));
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for InternedLists.
+ * Runs every ListOfIntsTest case against canonical lists, plus tests that equal lists are shared.
+ */
+public class InternedListsTest extends ListOfIntsTest {
+
+    /**
+     * Returns the canonical empty list.
+     *
+     * @return the canonical empty list
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        return InternedLists.empty();
+    }
+
+    /**
+     * Tests that lists with the same elements are the same object however they were built.
+     */
+    @Test
+    public void testEqualListsAreSame() {
+        ListOfInts built = InternedLists.empty().prepend(3).prepend(2).prepend(1);
+        assertSame(InternedLists.of(1, 2, 3), built);
+        assertSame(built, InternedLists.empty().append(1).append(2).append(3));
+        assertSame(built, InternedLists.of(1, 3).insertAtIndex(2, 1));
+        assertSame(built, InternedLists.of(1).appendAll(2, 3));
+        assertSame(built, InternedLists.of(3).prependAll(1, 2));
+        assertSame(built, InternedLists.intern(new EmptyNode().appendAll(1, 2, 3)));
+        assertSame(built, InternedLists.of(1, 2).concat(new ChunkedList().append(3)));
+        assertNotSame(built, InternedLists.of(1, 2, 4));
+    }
+
+    /**
+     * Tests that lists with a common suffix share its nodes.
+     */
+    @Test
+    public void testSharedSuffix() {
+        ListOfInts first = InternedLists.of(1, 7, 8, 9);
+        ListOfInts second = InternedLists.of(2, 7, 8, 9);
+        assertSame(first.getRest(), second.getRest());
+        assertSame(InternedLists.empty(), first.getRest().getRest().getRest().getRest());
+    }
+
+    /**
+     * Tests that cons interns a list that is not canonical.
+     */
+    @Test
+    public void testConsInternsTail() {
+        ListOfInts list = InternedLists.cons(1, new ElementNode(2, new EmptyNode()));
+        assertSame(InternedLists.of(1, 2), list);
+        assertSame(InternedLists.of(2), list.getRest());
+    }
+
+    /**
+     * Tests inserting at an invalid index.
+     */
+    @Test
+    public void testInsertInvalidIndex() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> InternedLists.of(1, 2).insertAtIndex(0, 3));
+    }
+}
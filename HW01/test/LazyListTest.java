@@ -0,0 +1,146 @@
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for LazyList.
+ * Runs every ListOfIntsTest case against LazyList, plus tests of how many elements are forced.
+ */
+public class LazyListTest extends ListOfIntsTest {
+
+    /** The number of elements produced so far by the counting generator. */
+    private final AtomicInteger produced = new AtomicInteger();
+
+    /**
+     * Creates an empty LazyList.
+     *
+     * @return a new empty LazyList
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        return LazyList.fromStream(IntStream.empty());
+    }
+
+    /**
+     * Returns an endless list of 0, 1, 2, ... that records how many elements it has produced.
+     *
+     * @return a new lazy list of the natural numbers
+     */
+    private LazyList naturals() {
+        return LazyList.generate(produced::getAndIncrement);
+    }
+
+    /**
+     * Tests that retrieving an element forces only the elements up to it.
+     */
+    @Test
+    public void testGetDataForcesPrefix() {
+        LazyList list = naturals();
+        assertEquals(0, produced.get());
+        assertEquals(1000, list.getDataAtIndex(1000));
+        assertEquals(1001, produced.get());
+        assertEquals(10, list.getDataAtIndex(10)); // Memoized elements are not produced again
+        assertEquals(1001, produced.get());
+    }
+
+    /**
+     * Tests that prepend, append and getRest force at most one element.
+     */
+    @Test
+    public void testPrependAppendAndRestStayLazy() {
+        LazyList list = naturals();
+        ListOfInts prepended = list.prepend(-1);
+        ListOfInts appended = list.append(-2).appendAll(-3, -4);
+        assertEquals(0, produced.get());
+        ListOfInts rest = list.getRest();
+        assertEquals(1, produced.get());
+        assertSame(rest, list.getRest());
+        assertEquals(1, rest.getDataAtIndex(0));
+        assertEquals(-1, prepended.getDataAtIndex(0));
+        assertEquals(5, appended.getDataAtIndex(5));
+        assertEquals(6, produced.get());
+    }
+
+    /**
+     * Tests that inserting forces only the elements before the index.
+     */
+    @Test
+    public void testInsertForcesPrefix() {
+        ListOfInts list = naturals().insertAtIndex(-1, 5);
+        assertEquals(5, produced.get());
+        assertEquals(-1, list.getDataAtIndex(5));
+        assertEquals(5, list.getDataAtIndex(6));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> LazyList.fromStream(IntStream.range(0, 3)).insertAtIndex(9, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> LazyList.fromStream(IntStream.of(1, 2))
+                .insertAtIndex(5, Integer.MAX_VALUE - 16));
+    }
+
+    /**
+     * Tests streaming a prefix of an endless list.
+     */
+    @Test
+    public void testStreamPrefixOfEndlessList() {
+        assertArrayEquals(new int[] {0, 1, 2, 3}, naturals().intStream().limit(4).toArray());
+        assertEquals(-1, naturals().spliterator().getExactSizeIfKnown());
+    }
+
+    /**
+     * Tests reading whitespace-separated integers from a reader.
+     */
+    @Test
+    public void testFromReader() {
+        ListOfInts list = LazyList.fromReader(new StringReader("  1 -22\n333\t\t4 "));
+        assertEquals("[1, [-22, [333, [4, []]]]]", list.toString());
+        assertEquals("[]", LazyList.fromReader(new StringReader(" \n ")).toString());
+        ListOfInts invalid = LazyList.fromReader(new StringReader("5 five"));
+        assertEquals(5, invalid.getDataAtIndex(0));
+        assertThrows(NumberFormatException.class, () -> invalid.getDataAtIndex(1));
+    }
+
+    /**
+     * Tests that a list built by many appends is forced without overflowing the call stack,
+     * and that the lists built along the way are unchanged.
+     */
+    @Test
+    public void testManyAppends() {
+        int count = 200_000;
+        ListOfInts list = createEmptyList();
+        ListOfInts half = null;
+        for (int i = 0; i < count; i++) {
+            list = i % 2 == 0 ? list.append(i) : list.appendAll(i);
+            if (i == count / 2 - 1) {
+                half = list;
+            }
+        }
+        assertEquals(count, list.getCountClassic());
+        assertEquals((long) count * (count - 1) / 2, list.getLongSum());
+        assertEquals(count - 1, list.getDataAtIndex(count - 1));
+        assertEquals(count / 2, half.getCountClassic());
+    }
+
+    /**
+     * Tests that lists built by many concatenations on either side are forced without
+     * overflowing the call stack.
+     */
+    @Test
+    public void testManyConcats() {
+        int count = 100_000;
+        ListOfInts one = createEmptyList().append(1);
+        ListOfInts left = createEmptyList();
+        ListOfInts right = createEmptyList();
+        for (int i = 0; i < count; i++) {
+            left = left.concat(one);
+            right = ((LazyList) one).concat(right);
+        }
+        assertEquals(count, left.getCountClassic());
+        assertEquals(count, left.getLongSum());
+        assertEquals(count, right.getCountClassic());
+        assertEquals(count, right.getLongSum());
+    }
+}
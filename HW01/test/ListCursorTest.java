@@ -0,0 +1,116 @@
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ListCursor.
+ */
+public class ListCursorTest {
+
+    /** The list [1, 2, 3] walked by the tests. */
+    private ListOfInts list;
+
+    /**
+     * Sets up the list before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        list = new EmptyNode().prepend(3).prepend(2).prepend(1);
+    }
+
+    /**
+     * Tests moving forward and back.
+     */
+    @Test
+    public void testMove() {
+        ListCursor cursor = list.cursor();
+        assertFalse(cursor.hasPrevious());
+        assertEquals(1, cursor.peek());
+        assertEquals(1, cursor.next());
+        assertEquals(2, cursor.next());
+        assertEquals(2, cursor.index());
+        assertEquals(2, cursor.previous());
+        assertEquals(2, cursor.peek());
+        assertEquals(2, cursor.next());
+        assertEquals(3, cursor.next());
+        assertFalse(cursor.hasNext());
+        assertTrue(cursor.hasPrevious());
+        assertThrows(NoSuchElementException.class, cursor::next);
+        assertThrows(NoSuchElementException.class, cursor::peek);
+    }
+
+    /**
+     * Tests editing at the cursor.
+     */
+    @Test
+    public void testEdit() {
+        ListCursor cursor = list.cursor();
+        cursor.insert(0);
+        cursor.next();
+        cursor.set(20);
+        assertEquals(20, cursor.remove());
+        cursor.insert(25);
+        assertEquals(3, cursor.index());
+        assertEquals("[0, [1, [25, [3, []]]]]", cursor.close().toString());
+        assertEquals("[1, [2, [3, []]]]", list.toString()); // The original list is unchanged
+    }
+
+    /**
+     * Tests that closing shares the part of the list after the cursor.
+     */
+    @Test
+    public void testCloseSharesSuffix() {
+        ListCursor cursor = list.cursor();
+        cursor.next();
+        cursor.set(7);
+        cursor.next();
+        ListOfInts result = cursor.close();
+        assertEquals("[1, [7, [3, []]]]", result.toString());
+        assertSame(list.getRest().getRest(), result.getRest().getRest());
+    }
+
+    /**
+     * Tests using a cursor at the edges of the list and after closing it.
+     */
+    @Test
+    public void testInvalidMoves() {
+        ListCursor cursor = new EmptyNode().cursor();
+        assertThrows(NoSuchElementException.class, cursor::previous);
+        assertThrows(NoSuchElementException.class, cursor::remove);
+        assertThrows(NoSuchElementException.class, () -> cursor.set(1));
+        assertEquals("[]", cursor.close().toString());
+        assertThrows(IllegalStateException.class, cursor::close);
+        assertThrows(IllegalStateException.class, () -> cursor.insert(1));
+    }
+
+    /**
+     * Tests that a cursor over a lazy list forces only the elements it moves past, so it works on
+     * an endless list.
+     */
+    @Test
+    public void testLazyList() {
+        int[] drawn = {0};
+        ListCursor cursor = LazyList.generate(() -> ++drawn[0]).cursor();
+        assertEquals(0, drawn[0]);
+        assertTrue(cursor.hasNext());
+        assertEquals(1, cursor.next());
+        assertEquals(2, cursor.next());
+        cursor.insert(10);
+        assertEquals(3, cursor.peek());
+        assertEquals(3, drawn[0]);
+        ListOfInts result = cursor.close();
+        assertEquals(10, result.getDataAtIndex(2));
+        assertEquals(4, result.getDataAtIndex(4));
+
+        cursor = LazyList.fromStream(IntStream.of(5)).cursor();
+        assertEquals(5, cursor.next());
+        assertFalse(cursor.hasNext());
+        assertThrows(NoSuchElementException.class, cursor::next);
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ListOfIntsBuilder.
+ */
+public class ListOfIntsBuilderTest {
+
+    /**
+     * Tests adding single values past the initial capacity.
+     */
+    @Test
+    public void testAdd() {
+        ListOfIntsBuilder builder = new ListOfIntsBuilder(0);
+        for (int i = 0; i < 1000; i++) {
+            builder.add(i);
+        }
+        assertEquals(1000, builder.size());
+        assertArrayEquals(IntStream.range(0, 1000).toArray(), builder.toArray());
+    }
+
+    /**
+     * Tests adding arrays, streams and lists.
+     */
+    @Test
+    public void testAddAll() {
+        ListOfIntsBuilder builder = new ListOfIntsBuilder()
+                .addAll(1, 2, 3)
+                .addAll(IntStream.range(4, 7))
+                .addAll(new EmptyNode().prepend(8).prepend(7));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8}, builder.toArray());
+    }
+
+    /**
+     * Tests building the default list of ElementNodes.
+     */
+    @Test
+    public void testBuild() {
+        ListOfInts list = new ListOfIntsBuilder().addAll(1, 2, 3).build();
+        assertEquals("[1, [2, [3, []]]]", list.toString());
+        assertTrue(list instanceof ElementNode);
+        assertEquals("[]", new ListOfIntsBuilder().build().toString());
+    }
+
+    /**
+     * Tests building every implementation from the same values.
+     */
+    @Test
+    public void testBuildEveryImplementation() {
+        ListOfIntsBuilder builder = new ListOfIntsBuilder().addAll(IntStream.range(0, 5000));
+        ListOfInts[] empties = {
+            new EmptyNode(), AnnotatedNode.empty(), new ChunkedList(),
+            new PersistentVector(), new RangeTreeList()
+        };
+        for (ListOfInts empty : empties) {
+            ListOfInts list = builder.build(empty);
+            assertEquals(empty.getClass() == EmptyNode.class ? ElementNode.class
+                    : empty.getClass().getSuperclass() == EmptyNode.class ? AnnotatedNode.class
+                    : empty.getClass(), list.getClass());
+            assertEquals(5000, list.getCountClassic());
+            assertEquals(4999, list.getDataAtIndex(4999));
+            assertEquals(5000L * 4999 / 2, list.getLongSum());
+        }
+    }
+
+    /**
+     * Tests building onto a non-empty list.
+     */
+    @Test
+    public void testBuildOntoList() {
+        ListOfInts start = new ChunkedList().append(0);
+        ListOfInts list = new ListOfIntsBuilder().addAll(1, 2).build(start);
+        assertEquals("[0, [1, [2, []]]]", list.toString());
+        assertEquals("[0, []]", start.toString());
+    }
+
+    /**
+     * Tests creating a builder with a negative capacity.
+     */
+    @Test
+    public void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ListOfIntsBuilder(-1));
+    }
+}
@@ -0,0 +1,111 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ListOfIntsCodec.
+ */
+public class ListOfIntsCodecTest {
+
+    /**
+     * Encodes a list into a byte array.
+     *
+     * @param list the list to encode
+     * @param delta whether to use delta encoding
+     * @return the encoded bytes
+     */
+    private static byte[] encode(ListOfInts list, boolean delta) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ListOfIntsCodec.write(list, out, delta);
+        return out.toByteArray();
+    }
+
+    /**
+     * Tests that lists round trip with and without delta encoding.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        int[] values = {0, 1, -1, 63, -64, 64, 1000, Integer.MAX_VALUE, Integer.MIN_VALUE, 7};
+        ListOfInts list = new EmptyNode().appendAll(values);
+        for (boolean delta : new boolean[] {false, true}) {
+            byte[] bytes = encode(list, delta);
+            assertArrayEquals(values,
+                    ListOfIntsCodec.stream(new ByteArrayInputStream(bytes)).toArray());
+            assertEquals(list.toString(),
+                    ListOfIntsCodec.read(new ByteArrayInputStream(bytes)).toString());
+        }
+    }
+
+    /**
+     * Tests an empty list and a list spanning several blocks.
+     */
+    @Test
+    public void testEmptyAndMultiBlock() throws IOException {
+        assertEquals(0, ListOfIntsCodec.stream(
+                new ByteArrayInputStream(encode(new ChunkedList(), false))).count());
+        int size = ListOfIntsCodec.BLOCK_SIZE * 3 + 5;
+        ListOfInts list = new PersistentVector().appendAll(IntStream.range(-size, size).toArray());
+        byte[] bytes = encode(list, true);
+        assertArrayEquals(list.toArray(), ListOfIntsCodec.stream(
+                Channels.newChannel(new ByteArrayInputStream(bytes))).toArray());
+    }
+
+    /**
+     * Tests that small values take one byte and that delta encoding shrinks sorted lists.
+     */
+    @Test
+    public void testEncodedSize() throws IOException {
+        ListOfInts small = new ChunkedList().appendAll(IntStream.range(-64, 64).toArray());
+        assertEquals(2 + 2 + 128 + 1, encode(small, false).length);
+        ListOfInts sorted = new ChunkedList().appendAll(
+                IntStream.range(0, 1000).map(i -> 1_000_000 + 3 * i).toArray());
+        assertTrue(encode(sorted, true).length < encode(sorted, false).length / 2);
+    }
+
+    /**
+     * Tests that decoding into a lazy list reads only as far as needed.
+     */
+    @Test
+    public void testReadIsLazy() throws IOException {
+        ListOfInts list = new ChunkedList().appendAll(IntStream.range(0, 100).toArray());
+        byte[] truncated = Arrays.copyOf(encode(list, false), 10);
+        ListOfInts decoded = ListOfIntsCodec.read(new ByteArrayInputStream(truncated));
+        assertEquals(5, decoded.getDataAtIndex(5));
+        assertThrows(UncheckedIOException.class, () -> decoded.getDataAtIndex(50));
+    }
+
+    /**
+     * Tests that input not written by the codec is rejected.
+     */
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IOException.class,
+                () -> ListOfIntsCodec.stream(new ByteArrayInputStream(new byte[] {1, 0})));
+        assertThrows(IOException.class,
+                () -> ListOfIntsCodec.read(new ByteArrayInputStream(new byte[0])));
+    }
+
+    /**
+     * Tests that a five-byte varint using bits beyond an int is rejected instead of losing them,
+     * while the largest one that fits is decoded.
+     */
+    @Test
+    public void testVarintTooLarge() throws IOException {
+        byte[] largest = {(byte) 0xB1, 0, 1, -1, -1, -1, -1, 0x0F, 0};
+        assertArrayEquals(new int[] {Integer.MIN_VALUE},
+                ListOfIntsCodec.stream(new ByteArrayInputStream(largest)).toArray());
+        byte[] tooLarge = {(byte) 0xB1, 0, 1, -1, -1, -1, -1, 0x1F, 0};
+        IntStream stream = ListOfIntsCodec.stream(new ByteArrayInputStream(tooLarge));
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, stream::toArray);
+        assertEquals("Varint is too large.", e.getCause().getMessage());
+    }
+}
@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ListOfInts operations on very long lists.
+ * Every operation must run without overflowing the call stack.
+ */
+public class ListOfIntsLargeTest {
+
+    /** The number of elements in the shared list. */
+    private static final int SIZE = 10_000_000;
+
+    /** A list holding i % 100 at every index i, built once for all tests. */
+    private static ListOfInts list;
+
+    /**
+     * Builds the shared list by prepending from the back.
+     */
+    @BeforeAll
+    public static void setUp() {
+        list = new EmptyNode();
+        for (int i = SIZE - 1; i >= 0; i--) {
+            list = list.prepend(i % 100);
+        }
+    }
+
+    /**
+     * Tests counting the elements of a long list classically.
+     */
+    @Test
+    public void testGetCountClassic() {
+        assertEquals(SIZE, list.getCountClassic());
+    }
+
+    /**
+     * Tests counting the elements of a long list with the helper.
+     */
+    @Test
+    public void testGetCountWithHelper() {
+        assertEquals(SIZE, list.getCountWithHelper());
+        assertEquals(SIZE + 5, list.getCountHelper(5));
+    }
+
+    /**
+     * Tests appending to the end of a long list.
+     */
+    @Test
+    public void testAppend() {
+        ListOfInts appended = list.append(-1);
+        assertEquals(SIZE + 1, appended.getCountClassic());
+        assertEquals(-1, appended.getDataAtIndex(SIZE));
+        assertEquals(SIZE, list.getCountClassic()); // The original list is unchanged
+    }
+
+    /**
+     * Tests inserting into the middle and at the end of a long list.
+     */
+    @Test
+    public void testInsertAtIndex() {
+        ListOfInts inserted = list.insertAtIndex(-1, SIZE / 2);
+        assertEquals(-1, inserted.getDataAtIndex(SIZE / 2));
+        assertEquals((SIZE / 2) % 100, inserted.getDataAtIndex(SIZE / 2 + 1));
+        assertEquals(SIZE + 1, inserted.getCountWithHelper());
+        inserted = list.insertAtIndex(-2, SIZE);
+        assertEquals(-2, inserted.getDataAtIndex(SIZE));
+    }
+
+    /**
+     * Tests retrieving the last element of a long list.
+     */
+    @Test
+    public void testGetDataAtIndex() {
+        assertEquals((SIZE - 1) % 100, list.getDataAtIndex(SIZE - 1));
+    }
+
+    /**
+     * Tests summing a long list.
+     */
+    @Test
+    public void testGetSum() {
+        int expected = 0;
+        for (int i = 0; i < SIZE; i++) {
+            expected += i % 100;
+        }
+        assertEquals(expected, list.getSum());
+    }
+
+    /**
+     * Tests iterating over a long list sequentially and in parallel.
+     */
+    @Test
+    public void testIntStream() {
+        assertEquals(list.getSum(), list.intStream().sum());
+        assertEquals(list.getLongSum(), list.intStream().parallel().asLongStream().sum());
+    }
+
+    /**
+     * Tests the string representation of a long list.
+     */
+    @Test
+    public void testToString() {
+        int expectedLength = "[]".length();
+        for (int i = 0; i < SIZE; i++) {
+            expectedLength += "[, ]".length() + String.valueOf(i % 100).length();
+        }
+        String text = list.toString();
+        assertEquals(expectedLength, text.length());
+        assertTrue(text.startsWith("[0, [1, [2, "));
+        assertEquals(expectedLength - SIZE - "[99, []".length(), text.lastIndexOf("[99, []"));
+        assertTrue(text.endsWith("]]]]"));
+    }
+}
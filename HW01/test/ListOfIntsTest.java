@@ -1,7 +1,15 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test class for ListOfInts implementation.
@@ -17,7 +25,17 @@ public class ListOfIntsTest {
      */
     @BeforeEach
     public void setUp() {
-        list = new EmptyNode(); // Initialize list before each test
+        list = createEmptyList(); // Initialize list before each test
+    }
+
+    /**
+     * Creates the empty list the tests start from.
+     * Subclasses override this to run every test against another implementation.
+     *
+     * @return a new empty list
+     */
+    protected ListOfInts createEmptyList() {
+        return new EmptyNode();
     }
 
     // ----------- Prepend Tests -----------
@@ -193,4 +211,147 @@ public class ListOfIntsTest {
         list = list.append(5);
         assertEquals(5, list.getSum()); // Single element list
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the long sum does not overflow where the int sum does.
+     */
+    @Test
+    public void testGetLongSumLargeValues() {
+        list = list.append(Integer.MAX_VALUE).append(Integer.MAX_VALUE).append(2);
+        assertEquals(2L * Integer.MAX_VALUE + 2, list.getLongSum());
+        assertEquals(0, list.getSum()); // The int sum wraps around
+    }
+
+    // ----------- Iteration Tests -----------
+
+    /**
+     * Builds a list holding 0 to size - 1 by prepending from the back.
+     *
+     * @param size the number of elements
+     * @return the list
+     */
+    private ListOfInts range(int size) {
+        ListOfInts result = createEmptyList();
+        for (int i = size - 1; i >= 0; i--) {
+            result = result.prepend(i);
+        }
+        return result;
+    }
+
+    /**
+     * Tests that the iterator visits every element in order.
+     */
+    @Test
+    public void testIterator() {
+        assertFalse(list.iterator().hasNext());
+        list = range(300);
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        for (int i = 0; i < 300; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(i, iterator.nextInt());
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+    }
+
+    /**
+     * Tests sequential and parallel streams over the list.
+     */
+    @Test
+    public void testIntStream() {
+        assertEquals(0, list.intStream().sum());
+        list = range(3000);
+        assertEquals(list.getSum(), list.intStream().sum());
+        assertEquals(list.getSum(), list.intStream().parallel().sum());
+        int[] expected = IntStream.range(0, 3000).toArray();
+        assertArrayEquals(expected, list.intStream().parallel().toArray());
+    }
+
+    /**
+     * Tests that splitting the spliterator covers every element exactly once.
+     */
+    @Test
+    public void testSpliteratorSplits() {
+        list = range(3000);
+        Spliterator.OfInt suffix = list.spliterator();
+        assertEquals(3000, suffix.getExactSizeIfKnown());
+        Spliterator.OfInt prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        int[] seen = new int[3000];
+        prefix.forEachRemaining((int value) -> seen[value]++);
+        suffix.forEachRemaining((int value) -> seen[value]++);
+        for (int count : seen) {
+            assertEquals(1, count);
+        }
+    }
+
+    // ----------- Bulk Tests -----------
+
+    /**
+     * Tests appending many values at once to empty and non-empty lists.
+     */
+    @Test
+    public void testAppendAll() {
+        assertEquals("[]", list.appendAll().toString());
+        list = list.appendAll(1, 2);
+        assertEquals("[1, [2, []]]", list.toString());
+        ListOfInts longer = list.appendAll(IntStream.range(3, 200).toArray());
+        assertArrayEquals(IntStream.range(1, 200).toArray(), longer.toArray());
+        assertEquals("[1, [2, []]]", list.toString()); // The original list is unchanged
+    }
+
+    /**
+     * Tests prepending many values at once to empty and non-empty lists.
+     */
+    @Test
+    public void testPrependAll() {
+        list = list.prependAll(3, 4);
+        assertEquals("[3, [4, []]]", list.toString());
+        ListOfInts longer = list.prependAll(1, 2);
+        assertEquals("[1, [2, [3, [4, []]]]]", longer.toString());
+        assertArrayEquals(IntStream.range(-200, 5).toArray(),
+                longer.prependAll(IntStream.range(-200, 1).toArray()).toArray());
+        assertEquals(2, list.getCountClassic());
+    }
+
+    /**
+     * Tests concatenating lists of the same and of another implementation.
+     */
+    @Test
+    public void testConcat() {
+        ListOfInts first = list.appendAll(IntStream.range(0, 100).toArray());
+        ListOfInts second = createEmptyList().appendAll(IntStream.range(100, 250).toArray());
+        assertArrayEquals(IntStream.range(0, 250).toArray(), first.concat(second).toArray());
+        ListOfInts plain = new EmptyNode().prepend(251).prepend(250);
+        assertArrayEquals(IntStream.range(0, 252).toArray(),
+                first.concat(second).concat(plain).toArray());
+        assertEquals("[1, []]", list.concat(new EmptyNode().prepend(1)).toString());
+        assertArrayEquals(first.toArray(), first.concat(list).toArray());
+        assertEquals(100, first.getCountClassic()); // The original list is unchanged
+    }
+
+    /**
+     * Tests walking and editing the list through a cursor.
+     */
+    @Test
+    public void testCursor() {
+        ListCursor cursor = range(200).cursor();
+        int sum = 0;
+        while (cursor.hasNext()) {
+            int value = cursor.next();
+            sum += value;
+            if (value % 2 == 0 && cursor.hasNext()) {
+                cursor.remove();
+            }
+        }
+        assertEquals(9900, sum); // Only the even values were visited
+        cursor.previous();
+        cursor.set(-1);
+        cursor.insert(-2);
+        ListOfInts result = cursor.close();
+        assertEquals(101, result.getCountClassic());
+        assertEquals(0, result.getDataAtIndex(0));
+        assertEquals(-2, result.getDataAtIndex(99));
+        assertEquals(-1, result.getDataAtIndex(100));
+    }
+}
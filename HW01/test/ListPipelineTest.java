@@ -0,0 +1,97 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ListPipeline.
+ */
+public class ListPipelineTest {
+
+    /** The list 0, 1, ..., 99. */
+    private final ListOfInts list = new EmptyNode().appendAll(IntStream.range(0, 100).toArray());
+
+    /**
+     * Tests a chain of stages against the same chain on a stream.
+     */
+    @Test
+    public void testChainedStages() {
+        ListPipeline pipeline = list.map(x -> x * 3)
+                .filter(x -> x % 2 == 0)
+                .map(x -> x + 1)
+                .takeWhile(x -> x < 250)
+                .zip(new ChunkedList().appendAll(IntStream.range(0, 1000).toArray()), Integer::sum);
+        int[] expected = IntStream.range(0, 100).map(x -> x * 3).filter(x -> x % 2 == 0)
+                .map(x -> x + 1).takeWhile(x -> x < 250).toArray();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] += i;
+        }
+        assertArrayEquals(expected, pipeline.toArray());
+        assertEquals(IntStream.of(expected).sum(), pipeline.getSum());
+        assertArrayEquals(expected, pipeline.materialize().toArray()); // Pipelines can be rerun
+    }
+
+    /**
+     * Tests that every stage runs in the same pass, element by element.
+     */
+    @Test
+    public void testSinglePass() {
+        StringBuilder trace = new StringBuilder();
+        list.takeWhile(x -> x < 2)
+                .map(x -> {
+                    trace.append('m').append(x);
+                    return x;
+                })
+                .filter(x -> {
+                    trace.append('f').append(x);
+                    return true;
+                })
+                .getSum();
+        assertEquals("m0f0m1f1", trace.toString());
+    }
+
+    /**
+     * Tests that takeWhile stops reading an endless source.
+     */
+    @Test
+    public void testTakeWhileShortCircuits() {
+        AtomicInteger produced = new AtomicInteger();
+        ListOfInts naturals = LazyList.generate(produced::getAndIncrement);
+        assertEquals(45, naturals.takeWhile(x -> x < 10).getSum());
+        assertEquals(11, produced.get());
+    }
+
+    /**
+     * Tests zipping with a shorter list.
+     */
+    @Test
+    public void testZipStopsAtShorterList() {
+        ListOfInts pairs = list.zip(new EmptyNode().appendAll(10, 20), (x, y) -> x * y)
+                .materialize();
+        assertEquals("[0, [20, []]]", pairs.toString());
+    }
+
+    /**
+     * Tests that foldLeft combines elements from left to right.
+     */
+    @Test
+    public void testFoldLeft() {
+        ListOfInts digits = new EmptyNode().appendAll(1, 2, 3);
+        assertEquals(123, digits.foldLeft(0, (acc, x) -> acc * 10 + x));
+        assertEquals(7, new EmptyNode().foldLeft(7, (acc, x) -> acc * 10 + x));
+    }
+
+    /**
+     * Tests materializing into another implementation.
+     */
+    @Test
+    public void testMaterializeInto() {
+        ListOfInts result = list.filter(x -> x >= 90).materialize(new PersistentVector());
+        assertTrue(result instanceof PersistentVector);
+        assertArrayEquals(IntStream.range(90, 100).toArray(), result.toArray());
+        assertEquals((long) Integer.MAX_VALUE * 2,
+                list.takeWhile(x -> x < 2).map(x -> Integer.MAX_VALUE).getLongSum());
+    }
+}
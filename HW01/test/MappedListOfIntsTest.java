@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for MappedListOfInts.
+ * Runs every ListOfIntsTest case against MappedListOfInts, plus tests of the file it is stored in.
+ */
+public class MappedListOfIntsTest extends ListOfIntsTest {
+
+    /** The directory holding the files created by a test. */
+    @TempDir
+    Path directory;
+
+    /** The number of files created so far by a test. */
+    private int files;
+
+    /**
+     * Creates an empty MappedListOfInts stored in a new file.
+     *
+     * @return a new empty MappedListOfInts
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        try {
+            return MappedListOfInts.create(directory.resolve("list" + files++ + ".bin"));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Tests that reopening a file gives back every element appended to it.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        Path path = directory.resolve("reopen.bin");
+        MappedListOfInts list = MappedListOfInts.create(path);
+        ListOfInts longer = list.appendAll(1, 2, 3).append(4);
+        ((MappedListOfInts) longer).force();
+        ListOfInts reopened = MappedListOfInts.open(path);
+        assertEquals("[1, [2, [3, [4, []]]]]", reopened.toString());
+        assertEquals("[1, [2, [3, [4, [5, []]]]]]",
+                MappedListOfInts.open(path).append(5).toString());
+        assertEquals(5, MappedListOfInts.open(path).getCountClassic());
+    }
+
+    /**
+     * Tests that appending to an older view copies it instead of overwriting newer elements.
+     */
+    @Test
+    public void testAppendToOlderView() {
+        ListOfInts base = createEmptyList().appendAll(1, 2);
+        ListOfInts first = base.append(3);
+        ListOfInts second = base.append(4);
+        assertEquals("[1, [2, []]]", base.toString());
+        assertEquals("[1, [2, [3, []]]]", first.toString());
+        assertEquals("[1, [2, [4, []]]]", second.toString());
+        assertEquals("[2, [3, [5, []]]]", first.getRest().append(5).toString());
+    }
+
+    /**
+     * Tests that prepending keeps the mapped elements as the rest of the list.
+     */
+    @Test
+    public void testPrependSharesFile() {
+        ListOfInts mapped = createEmptyList().appendAll(2, 3);
+        ListOfInts list = mapped.prepend(1);
+        assertTrue(list instanceof ElementNode);
+        assertEquals(mapped, list.getRest());
+    }
+
+    /**
+     * Tests a list spanning two mapped regions.
+     */
+    @Test
+    public void testAcrossRegions() {
+        int size = MappedListOfInts.REGION_INTS + 100;
+        ListOfInts list = createEmptyList().appendAll(IntStream.range(0, size).toArray());
+        assertEquals(size, list.getCountClassic());
+        assertEquals(MappedListOfInts.REGION_INTS, list.getDataAtIndex(size - 100));
+        assertEquals((long) size * (size - 1) / 2, list.getLongSum());
+        Spliterator.OfInt suffix = list.spliterator();
+        Spliterator.OfInt prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(MappedListOfInts.REGION_INTS, prefix.getExactSizeIfKnown());
+        assertEquals(list.getLongSum(), list.intStream().parallel().asLongStream().sum());
+    }
+
+    /**
+     * Tests opening a file that does not hold a list.
+     */
+    @Test
+    public void testOpenInvalidFile() throws IOException {
+        Path path = Files.write(directory.resolve("invalid.bin"), new byte[8]);
+        assertThrows(IOException.class, () -> MappedListOfInts.open(path));
+        Path shortPath = Files.write(directory.resolve("short.bin"), new byte[] {1});
+        assertThrows(IOException.class, () -> MappedListOfInts.open(shortPath));
+    }
+
+    /**
+     * Tests that the temporary files of copies are deleted once no list uses them, while the
+     * file of a list still in use is kept.
+     */
+    @Test
+    public void testUnusedCopiesAreDeleted() throws InterruptedException {
+        ListOfInts base = createEmptyList().appendAll(1, 2, 3);
+        ListOfInts kept = base.insertAtIndex(0, 0);
+        List<Path> copies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            copies.add(((MappedListOfInts) base.insertAtIndex(i, 1)).file());
+        }
+        assertTrue(copies.stream().allMatch(Files::exists));
+        long left = copies.size();
+        for (int attempt = 0; attempt < 100 && left > 0; attempt++) {
+            System.gc();
+            Thread.sleep(50);
+            left = copies.stream().filter(Files::exists).count();
+        }
+        assertEquals(0, left);
+        assertTrue(Files.exists(((MappedListOfInts) kept).file()));
+        assertEquals("[0, [1, [2, [3, []]]]]", kept.toString());
+        assertFalse(copies.contains(((MappedListOfInts) kept).file()));
+    }
+
+    /**
+     * Tests that lists opened twice from the same file share it, so appending to one never
+     * changes a list appended from the other.
+     */
+    @Test
+    public void testOpenTwice() throws IOException {
+        Path path = directory.resolve("twice.bin");
+        ((MappedListOfInts) MappedListOfInts.create(path).appendAll(1, 2)).force();
+        MappedListOfInts first = MappedListOfInts.open(path);
+        MappedListOfInts second = MappedListOfInts.open(path);
+        ListOfInts firstLonger = first.append(10);
+        ListOfInts secondLonger = second.append(20);
+        assertEquals("[1, [2, [10, []]]]", firstLonger.toString());
+        assertEquals("[1, [2, [20, []]]]", secondLonger.toString());
+        assertEquals("[1, [2, []]]", second.toString());
+        assertEquals("[1, [2, [10, []]]]", MappedListOfInts.open(path).toString());
+    }
+
+    /**
+     * Tests that a header counting more integers than the file holds is rejected without
+     * growing the file.
+     */
+    @Test
+    public void testOpenCorruptCount() throws IOException {
+        Path path = directory.resolve("corrupt.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(0x4C4F4931).putInt(100).putInt(7);
+        Files.write(path, bytes.array());
+        assertThrows(IOException.class, () -> MappedListOfInts.open(path));
+        assertEquals(12, Files.size(path));
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for PersistentVector.
+ * Runs every ListOfIntsTest case against PersistentVector, plus tests that grow the trie.
+ */
+public class PersistentVectorTest extends ListOfIntsTest {
+
+    /** A size that needs three levels of internal nodes. */
+    private static final int SIZE = 32 * 32 * 32 * 2 + 45;
+
+    /**
+     * Creates an empty PersistentVector.
+     *
+     * @return a new empty PersistentVector
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        return new PersistentVector();
+    }
+
+    /**
+     * Builds a vector holding 0 to size - 1 by appending.
+     *
+     * @param size the number of elements
+     * @return the vector
+     */
+    private static ListOfInts appendRange(int size) {
+        ListOfInts vector = new PersistentVector();
+        for (int i = 0; i < size; i++) {
+            vector = vector.append(i);
+        }
+        return vector;
+    }
+
+    /**
+     * Tests appending enough elements to grow the root several times.
+     */
+    @Test
+    public void testAppendGrowsTrie() {
+        ListOfInts vector = appendRange(SIZE);
+        assertEquals(SIZE, vector.getCountClassic());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, vector.getDataAtIndex(i));
+        }
+        assertEquals((int) ((long) SIZE * (SIZE - 1) / 2), vector.getSum());
+    }
+
+    /**
+     * Tests that vectors rebuilt by prepend match vectors built by append at every tail boundary.
+     */
+    @Test
+    public void testPrependMatchesAppend() {
+        for (int size = 0; size < 32 * 33 + 2; size++) {
+            ListOfInts appended = appendRange(size + 1).getRest();
+            ListOfInts prepended = appendRange(size).prepend(-1).getRest();
+            assertEquals(appended.getCountClassic(), size);
+            for (int i = 0; i < size; i++) {
+                assertEquals(i + 1, appended.getDataAtIndex(i));
+                assertEquals(i, prepended.getDataAtIndex(i));
+            }
+            ListOfInts grown = prepended.append(size);
+            assertEquals(size, grown.getDataAtIndex(size));
+        }
+    }
+
+    /**
+     * Tests replacing elements in the trie and in the tail without changing the original.
+     */
+    @Test
+    public void testSetDataAtIndex() {
+        PersistentVector vector = (PersistentVector) appendRange(1000);
+        PersistentVector updated = vector.setDataAtIndex(-1, 5).setDataAtIndex(-2, 999);
+        assertEquals(-1, updated.getDataAtIndex(5));
+        assertEquals(-2, updated.getDataAtIndex(999));
+        assertEquals(5, vector.getDataAtIndex(5));
+        assertEquals(999, vector.getDataAtIndex(999));
+        assertEquals(vector.getSum() - 5 - 999 - 1 - 2, updated.getSum());
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.setDataAtIndex(0, 1000));
+    }
+
+    /**
+     * Tests that getRest views index from the new first element.
+     */
+    @Test
+    public void testGetRest() {
+        ListOfInts vector = appendRange(100);
+        ListOfInts rest = vector.getRest().getRest();
+        assertEquals(98, rest.getCountWithHelper());
+        assertEquals(2, rest.getDataAtIndex(0));
+        assertEquals(99, rest.getDataAtIndex(97));
+        assertEquals(100 * 99 / 2 - 1, rest.getSum());
+        assertEquals(2, ((PersistentVector) rest).setDataAtIndex(7, 1).getDataAtIndex(0));
+        assertEquals(7, ((PersistentVector) rest).setDataAtIndex(7, 1).getDataAtIndex(1));
+        ListOfInts inserted = rest.insertAtIndex(-1, 1);
+        assertEquals("[2, [-1, [3, ", inserted.toString().substring(0, 13));
+        assertEquals(99, inserted.getCountClassic());
+    }
+
+    /**
+     * Tests retrieving data at indexes past the end.
+     */
+    @Test
+    public void testGetDataAtIndexOutOfBounds() {
+        ListOfInts vector = appendRange(40);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.getDataAtIndex(40));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.getDataAtIndex(-1));
+        assertThrows(IllegalStateException.class, () -> new PersistentVector().getRest());
+    }
+}
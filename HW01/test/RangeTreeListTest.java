@@ -0,0 +1,138 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for RangeTreeList.
+ * Runs every ListOfIntsTest case against RangeTreeList, plus tests of the range aggregates.
+ */
+public class RangeTreeListTest extends ListOfIntsTest {
+
+    /**
+     * Creates an empty RangeTreeList.
+     *
+     * @return a new empty RangeTreeList
+     */
+    @Override
+    protected ListOfInts createEmptyList() {
+        return new RangeTreeList();
+    }
+
+    /**
+     * Tests sum, min and max over every range of a small list.
+     */
+    @Test
+    public void testRangeAggregates() {
+        int[] values = {5, -3, 8, 0, 12, -7, 4, 4, 9, -1};
+        RangeTreeList list = new RangeTreeList();
+        for (int value : values) {
+            list = (RangeTreeList) list.append(value);
+        }
+        for (int from = 0; from <= values.length; from++) {
+            for (int to = from; to <= values.length; to++) {
+                long sum = 0;
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    sum += values[i];
+                    min = Math.min(min, values[i]);
+                    max = Math.max(max, values[i]);
+                }
+                assertEquals(sum, list.sum(from, to));
+                if (from < to) {
+                    assertEquals(min, list.min(from, to));
+                    assertEquals(max, list.max(from, to));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests random insertions and removals against an ArrayList.
+     */
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(5004);
+        List<Integer> expected = new ArrayList<>();
+        ListOfInts list = new RangeTreeList();
+        for (int step = 0; step < 5000; step++) {
+            if (!expected.isEmpty() && random.nextInt(5) == 0) {
+                expected.remove(0);
+                list = list.getRest();
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                int value = random.nextInt(2001) - 1000;
+                expected.add(index, value);
+                list = list.insertAtIndex(value, index);
+            }
+        }
+        assertEquals(expected.size(), list.getCountClassic());
+        long sum = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.getDataAtIndex(i));
+            sum += expected.get(i);
+        }
+        assertEquals(sum, list.getLongSum());
+        RangeTreeList tree = (RangeTreeList) list;
+        for (int trial = 0; trial < 200; trial++) {
+            int from = random.nextInt(expected.size());
+            int to = from + 1 + random.nextInt(expected.size() - from);
+            List<Integer> range = expected.subList(from, to);
+            int[] slice = range.stream().mapToInt(Integer::intValue).toArray();
+            assertEquals(Arrays.stream(slice).asLongStream().sum(), tree.sum(from, to));
+            assertEquals(Arrays.stream(slice).min().getAsInt(), tree.min(from, to));
+            assertEquals(Arrays.stream(slice).max().getAsInt(), tree.max(from, to));
+        }
+    }
+
+    /**
+     * Tests that older versions are unchanged by later insertions.
+     */
+    @Test
+    public void testVersionsAreIndependent() {
+        RangeTreeList base = (RangeTreeList) new RangeTreeList().append(1).append(2).append(3);
+        RangeTreeList inserted = (RangeTreeList) base.insertAtIndex(100, 1);
+        assertEquals(6, base.sum(0, 3));
+        assertEquals(3, base.max(0, 3));
+        assertEquals(106, inserted.sum(0, 4));
+        assertEquals(100, inserted.max(0, 4));
+        assertEquals("[1, [2, [3, []]]]", base.toString());
+    }
+
+    /**
+     * Tests appending a long run of elements.
+     */
+    @Test
+    public void testManyAppends() {
+        ListOfInts list = new RangeTreeList();
+        int size = 200_000;
+        for (int i = 0; i < size; i++) {
+            list = list.append(i);
+        }
+        RangeTreeList tree = (RangeTreeList) list;
+        assertEquals(size, tree.getCountWithHelper());
+        assertEquals((long) size * (size - 1) / 2, tree.getLongSum());
+        assertEquals(12345, tree.getDataAtIndex(12345));
+        assertEquals(1000, tree.min(1000, 2000));
+        assertEquals(1999, tree.max(1000, 2000));
+        assertEquals(1499500, tree.sum(1000, 2000));
+    }
+
+    /**
+     * Tests range queries with invalid bounds.
+     */
+    @Test
+    public void testInvalidRanges() {
+        RangeTreeList tree = (RangeTreeList) new RangeTreeList().append(1).append(2);
+        assertEquals(0, tree.sum(1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.sum(-1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.sum(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.min(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.max(1, 1));
+        assertThrows(IllegalStateException.class, () -> new RangeTreeList().getRest());
+    }
+}
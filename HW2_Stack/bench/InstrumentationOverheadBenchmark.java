@@ -0,0 +1,51 @@
+/**
+ * Measures what instrumentation costs a push and a pop: a plain MyStack, an InstrumentedMyStack
+ * that is not registered, and one registered with JMX and Java Flight Recorder.
+ * <p>
+ * Each operation pushes a batch of elements and pops them again, so the stack's array is reused
+ * and no resizing is measured. Run with, for example: {@code java -Ddepth=1000
+ * InstrumentationOverheadBenchmark}. Start the JVM with {@code -XX:StartFlightRecording} to
+ * include the cost of recording the events.
+ * </p>
+ */
+public class InstrumentationOverheadBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int depth = BenchmarkHarness.intProperty("depth", 1_000);
+        int rounds = BenchmarkHarness.intProperty("rounds", 1_000);
+        System.out.println("depth = " + depth);
+        MyStack<Integer> plain = new MyStack<>();
+        BenchmarkHarness.measure("MyStack push+pop", rounds, () -> pushPop(plain, depth));
+        InstrumentedMyStack<Integer> instrumented = new InstrumentedMyStack<>();
+        BenchmarkHarness.measure("InstrumentedMyStack push+pop", rounds,
+                () -> pushPop(instrumented, depth));
+        InstrumentedMyStack<Integer> registered = new InstrumentedMyStack<>();
+        registered.register("benchmark");
+        BenchmarkHarness.measure("registered InstrumentedMyStack push+pop", rounds,
+                () -> pushPop(registered, depth));
+        registered.unregister();
+    }
+
+    /**
+     * Pushes a number of elements and pops them all.
+     *
+     * @param stack the stack to use
+     * @param depth the number of elements
+     * @return the sum of the popped elements
+     */
+    private static long pushPop(MyStack<Integer> stack, int depth) {
+        for (int i = 0; i < depth; i++) {
+            stack.push(i & 127);
+        }
+        long sum = 0;
+        for (int i = 0; i < depth; i++) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Compares the primitive stacks with MyStack&lt;Integer&gt; on an expression-evaluation style
+ * workload: push a few values, pop them and push the result.
+ * <p>
+ * Values are kept outside the Integer cache, so MyStack boxes every push as real code would.
+ * Run with, for example: {@code java -Dops=1000000 PrimitiveStackBenchmark}.
+ * </p>
+ */
+public class PrimitiveStackBenchmark {
+
+    /** The first value pushed, above the range of cached Integer objects. */
+    private static final int BASE = 1_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int operations = BenchmarkHarness.intProperty("ops", 1_000_000);
+        IntStack ints = new IntStack();
+        BenchmarkHarness.measure("IntStack push, push, pop, pop, push", operations, () -> {
+            ints.push(BASE + 1);
+            ints.push(BASE + 2);
+            ints.push(ints.pop() + ints.pop());
+            return ints.pop();
+        });
+        LongStack longs = new LongStack();
+        BenchmarkHarness.measure("LongStack push, push, pop, pop, push", operations, () -> {
+            longs.push(BASE + 1);
+            longs.push(BASE + 2);
+            longs.push(longs.pop() + longs.pop());
+            return longs.pop();
+        });
+        DoubleStack doubles = new DoubleStack();
+        BenchmarkHarness.measure("DoubleStack push, push, pop, pop, push", operations, () -> {
+            doubles.push(BASE + 1);
+            doubles.push(BASE + 2);
+            doubles.push(doubles.pop() + doubles.pop());
+            return (long) doubles.pop();
+        });
+        MyStack<Integer> boxed = new MyStack<>();
+        BenchmarkHarness.measure("MyStack<Integer> push, push, pop, pop, push", operations, () -> {
+            boxed.push(BASE + 1);
+            boxed.push(BASE + 2);
+            boxed.push(boxed.pop() + boxed.pop());
+            return boxed.pop();
+        });
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap retained by many snapshots of a MyStack in ArrayList mode and in persistent
+ * mode.
+ * <p>
+ * The stack is filled, then snapshotted after each of a number of pushes and pops. In ArrayList
+ * mode every snapshot copies the whole stack, so the heap grows with the number of snapshots
+ * times the depth; in persistent mode the snapshots share their cells, so it grows with the
+ * number of changes. Run with, for example: {@code java -Ddepth=10000 -Dsnapshots=1000
+ * SnapshotFootprint}.
+ * </p>
+ */
+public class SnapshotFootprint {
+
+    /**
+     * Runs the measurement.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int depth = BenchmarkHarness.intProperty("depth", 10_000);
+        int snapshots = BenchmarkHarness.intProperty("snapshots", 1_000);
+        System.out.println("depth = " + depth + ", snapshots = " + snapshots);
+        BenchmarkHarness.measureRetained("ArrayList MyStack snapshots", snapshots,
+                () -> takeSnapshots(new MyStack<>(), depth, snapshots));
+        BenchmarkHarness.measureRetained("persistent MyStack snapshots", snapshots,
+                () -> takeSnapshots(MyStack.persistent(), depth, snapshots));
+    }
+
+    /**
+     * Fills a stack, then changes it and keeps a snapshot after each change.
+     *
+     * @param stack the empty stack to use
+     * @param depth the number of elements pushed first
+     * @param snapshots the number of changes and snapshots
+     * @return the stack and its snapshots
+     */
+    private static List<Object> takeSnapshots(MyStack<Integer> stack, int depth, int snapshots) {
+        for (int i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        List<Object> kept = new ArrayList<>();
+        kept.add(stack);
+        for (int i = 0; i < snapshots; i++) {
+            if (i % 2 == 0) {
+                stack.push(i);
+            } else {
+                stack.pop();
+            }
+            kept.add(stack.snapshot());
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Compares the throughput of ConcurrentMyStack with a MyStack guarded by synchronized.
+ * <p>
+ * Every thread pushes an element and pops one, over and over, from 1 to 64 threads. The total
+ * number of operations per round is the same for every thread count. Run with, for example:
+ * {@code java -Dops=1000000 -Dthreads=64 StackThroughputBenchmark}.
+ * The figures depend on the number of cores.
+ * </p>
+ */
+public class StackThroughputBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int operations = BenchmarkHarness.intProperty("ops", 1_000_000);
+        int maxThreads = BenchmarkHarness.intProperty("threads", 64);
+        System.out.println("ops = " + operations
+                + ", cores = " + Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int perThread = operations / threads;
+            ConcurrentMyStack<Integer> concurrent = new ConcurrentMyStack<>();
+            BenchmarkHarness.measureConcurrent("ConcurrentMyStack push+pop, threads = " + threads,
+                    threads, perThread, thread -> {
+                        concurrent.push(thread);
+                        return concurrent.pop();
+                    });
+            MyStack<Integer> locked = new MyStack<>();
+            BenchmarkHarness.measureConcurrent("synchronized MyStack push+pop, threads = "
+                    + threads, threads, perThread, thread -> {
+                        synchronized (locked) {
+                            locked.push(thread);
+                            return locked.pop();
+                        }
+                    });
+        }
+    }
+}
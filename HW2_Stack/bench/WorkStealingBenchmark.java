@@ -0,0 +1,115 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Times a recursive computation on WorkStealingScheduler, on the JDK's ForkJoinPool, and on one
+ * thread.
+ * <p>
+ * The computation is a naive Fibonacci that forks one half of every call above a cutoff, so it
+ * creates many small tasks that the workers have to balance by stealing. Both schedulers use one
+ * worker per core. Run with, for example: {@code java -Dn=30 -Dcutoff=12 WorkStealingBenchmark}.
+ * The figures depend on the number of cores.
+ * </p>
+ */
+public class WorkStealingBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int n = BenchmarkHarness.intProperty("n", 30);
+        int cutoff = BenchmarkHarness.intProperty("cutoff", 12);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("n = " + n + ", cutoff = " + cutoff + ", cores = " + cores);
+        BenchmarkHarness.measure("sequential fib(" + n + ")", 1, () -> fibonacci(n));
+        try (WorkStealingScheduler scheduler = new WorkStealingScheduler(cores)) {
+            BenchmarkHarness.measure("WorkStealingScheduler fib(" + n + ")", 1,
+                    () -> scheduler.invoke(new StealingFibonacci(n, cutoff)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        BenchmarkHarness.measure("ForkJoinPool fib(" + n + ")", 1,
+                () -> pool.invoke(new ForkJoinFibonacci(n, cutoff)));
+        pool.shutdown();
+    }
+
+    /**
+     * Computes a Fibonacci number on one thread.
+     *
+     * @param n the position in the sequence
+     * @return the Fibonacci number
+     */
+    private static long fibonacci(int n) {
+        return n < 2 ? n : fibonacci(n - 1) + fibonacci(n - 2);
+    }
+
+    /**
+     * A Fibonacci task for WorkStealingScheduler.
+     */
+    private static final class StealingFibonacci extends WorkStealingScheduler.Task<Long> {
+        /** The position in the sequence. */
+        private final int n;
+
+        /** The position below which the task computes on its own thread. */
+        private final int cutoff;
+
+        /**
+         * Constructs a task.
+         *
+         * @param n the position in the sequence
+         * @param cutoff the position below which the task does not fork
+         */
+        private StealingFibonacci(int n, int cutoff) {
+            this.n = n;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n < cutoff) {
+                return fibonacci(n);
+            }
+            StealingFibonacci first = new StealingFibonacci(n - 1, cutoff);
+            first.fork();
+            long second = new StealingFibonacci(n - 2, cutoff).compute();
+            return first.join() + second;
+        }
+    }
+
+    /**
+     * The same task for ForkJoinPool.
+     */
+    private static final class ForkJoinFibonacci extends RecursiveTask<Long> {
+        /** The serialization version, since RecursiveTask is Serializable. */
+        private static final long serialVersionUID = 1L;
+
+        /** The position in the sequence. */
+        private final int n;
+
+        /** The position below which the task computes on its own thread. */
+        private final int cutoff;
+
+        /**
+         * Constructs a task.
+         *
+         * @param n the position in the sequence
+         * @param cutoff the position below which the task does not fork
+         */
+        private ForkJoinFibonacci(int n, int cutoff) {
+            this.n = n;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n < cutoff) {
+                return fibonacci(n);
+            }
+            ForkJoinFibonacci first = new ForkJoinFibonacci(n - 1, cutoff);
+            first.fork();
+            long second = new ForkJoinFibonacci(n - 2, cutoff).compute();
+            return first.join() + second;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts Book objects to and from bytes for a SpillingMyStack.
+ * A book is written as a tag byte saying whether the book and its title are null, followed by
+ * the number of bytes of the title in UTF-8 and those bytes, so titles of any length fit.
+ */
+public class BookCodec implements SpillCodec<Book> {
+    /** The tag of a null book. */
+    private static final byte NULL_BOOK = 0;
+
+    /** The tag of a book with a null title. */
+    private static final byte NULL_TITLE = 1;
+
+    /** The tag of a book with a title. */
+    private static final byte TITLE = 2;
+
+    /**
+     * Writes a book.
+     *
+     * @param book the book to write, which may be null
+     * @param out the output to write the book to
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    public void write(Book book, DataOutput out) throws IOException {
+        if (book == null) {
+            out.writeByte(NULL_BOOK);
+        } else if (book.getTitle() == null) {
+            out.writeByte(NULL_TITLE);
+        } else {
+            byte[] title = book.getTitle().getBytes(StandardCharsets.UTF_8);
+            out.writeByte(TITLE);
+            out.writeInt(title.length);
+            out.write(title);
+        }
+    }
+
+    /**
+     * Reads a book.
+     *
+     * @param in the input to read the book from
+     * @return a new book equal to the one written, or null.
+     * @throws IOException if the input cannot be read or does not hold a book
+     */
+    @Override
+    public Book read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL_BOOK:
+                return null;
+            case NULL_TITLE:
+                return new Book(null);
+            case TITLE:
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Not a book: title length " + length);
+                }
+                byte[] title = new byte[length];
+                in.readFully(title);
+                return new Book(new String(title, StandardCharsets.UTF_8));
+            default:
+                throw new IOException("Not a book: tag " + tag);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+import java.util.Collection;
+import java.util.EmptyStackException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A generic stack with a fixed capacity that threads can share as a LIFO work queue.
+ * Follows LIFO (Last In First Out) principle.
+ * <p>
+ * Pushing to a full stack waits until another thread pops, and popping from an empty stack waits
+ * until another thread pushes; both can give up after a timeout. The stack is guarded by a
+ * ReentrantLock with one Condition for each kind of wait rather than by synchronized, so a virtual
+ * thread that waits here does not pin its carrier thread. The batch methods take the lock once
+ * for the whole batch. Null elements are not allowed, since pop returns null on timeout.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public class BoundedBlockingMyStack<T> {
+    /** The array storing the stack elements; only the first size entries are used. */
+    private final Object[] elements;
+
+    /** The number of elements in the stack. */
+    private int size;
+
+    /** The lock guarding every field. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when an element is pushed. */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** Signalled when an element is popped. */
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Constructs an empty stack that holds at most the given number of elements.
+     *
+     * @param capacity the largest number of elements in the stack
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public BoundedBlockingMyStack(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Pushes an element onto the top of the stack, waiting while the stack is full.
+     *
+     * @param element the element to push onto the stack
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public void push(T element) throws InterruptedException {
+        Objects.requireNonNull(element);
+        lock.lockInterruptibly();
+        try {
+            while (size == elements.length) {
+                notFull.await();
+            }
+            insert(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pushes an element onto the top of the stack, waiting up to the given time while the stack
+     * is full.
+     *
+     * @param element the element to push onto the stack
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of the timeout
+     * @return true if the element was pushed, false if the stack was still full at the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public boolean push(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(element);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == elements.length) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            insert(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack, waiting while the stack is empty.
+     *
+     * @return the element at the top of the stack.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T pop() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack, waiting up to the given time
+     * while the stack is empty.
+     *
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of the timeout
+     * @return the element at the top of the stack, or null if the stack was still empty at the
+     *         timeout.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T pop(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element or waiting.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T top() {
+        lock.lock();
+        try {
+            if (size == 0) {
+                throw new EmptyStackException();
+            }
+            return (T) elements[size - 1];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many more elements can be pushed without waiting.
+     *
+     * @return the capacity minus the number of elements.
+     */
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return elements.length - size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pushes every element of a collection in iteration order, taking the lock once.
+     * While the stack is full the lock is released until another thread pops.
+     *
+     * @param batch the elements to push
+     * @throws InterruptedException if the thread is interrupted while waiting; the elements
+     *                              pushed before that stay on the stack
+     * @throws NullPointerException if the collection holds a null element; nothing is pushed
+     */
+    public void pushAll(Collection<? extends T> batch) throws InterruptedException {
+        for (T element : batch) {
+            Objects.requireNonNull(element);
+        }
+        lock.lockInterruptibly();
+        try {
+            for (T element : batch) {
+                while (size == elements.length) {
+                    notFull.await();
+                }
+                elements[size++] = element;
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pops every element into a collection, newest first, taking the lock once.
+     *
+     * @param target the collection to add the elements to
+     * @return the number of elements moved
+     */
+    public int drainTo(Collection<? super T> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Pops up to the given number of elements into a collection, newest first, taking the lock
+     * once.
+     *
+     * @param target the collection to add the elements to
+     * @param maxElements the most elements to move
+     * @return the number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        Objects.requireNonNull(target);
+        lock.lock();
+        try {
+            int count = Math.min(Math.max(maxElements, 0), size);
+            for (int i = 0; i < count; i++) {
+                target.add((T) elements[--size]);
+                elements[size] = null;
+            }
+            if (count > 0) {
+                notFull.signalAll();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     */
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            StringBuilder sb = new StringBuilder("Stack: ");
+            for (int i = 0; i < size; i++) {
+                sb.append(elements[i]).append(" ");
+            }
+            return sb.toString().trim();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an element on top and wakes a waiting popper. Called with the lock held and room left.
+     *
+     * @param element the element to add
+     */
+    private void insert(T element) {
+        elements[size++] = element;
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes the top element and wakes a waiting pusher. Called with the lock held and an
+     * element present.
+     *
+     * @return the removed element
+     */
+    @SuppressWarnings("unchecked")
+    private T extract() {
+        T element = (T) elements[--size];
+        elements[size] = null;
+        notFull.signal();
+        return element;
+    }
+}
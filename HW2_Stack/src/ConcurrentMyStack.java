@@ -0,0 +1,256 @@
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/**
+ * A generic stack that many threads can push to and pop from at the same time without locks.
+ * Follows LIFO (Last In First Out) principle, with the same operations as MyStack.
+ * <p>
+ * The stack is a Treiber stack: a linked list of immutable nodes whose top is swapped with
+ * compare-and-set. When a compare-and-set fails because other threads got there first, the thread
+ * backs off into an elimination array, where a push and a pop that meet cancel each other out
+ * without touching the top at all. Under heavy contention most pairs finish this way, so the
+ * top stops being a bottleneck.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public class ConcurrentMyStack<T> {
+    /** How long a thread waits in the elimination array for a partner, in nanoseconds. */
+    private static final long ELIMINATION_NANOS = 2_000;
+
+    /** The object a pop offers in the elimination array, so a push can tell pops apart. */
+    private static final Object POP = new Object();
+
+    /** The object an exchanger returns when no partner came in time. */
+    private static final Object TIMED_OUT = new Object();
+
+    /** The node at the top of the stack, or null if the stack is empty. */
+    private final AtomicReference<Node<T>> top = new AtomicReference<>();
+
+    /** The exchangers where pushes and pops that failed to update the top meet. */
+    private final Exchanger[] elimination;
+
+    /**
+     * Constructs an empty stack with an elimination array sized for the available processors.
+     */
+    public ConcurrentMyStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Constructs an empty stack with an elimination array of the given size.
+     *
+     * @param eliminationSize the number of exchangers in the elimination array
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public ConcurrentMyStack(int eliminationSize) {
+        if (eliminationSize <= 0) {
+            throw new IllegalArgumentException("Elimination size must be positive.");
+        }
+        elimination = new Exchanger[eliminationSize];
+        for (int i = 0; i < eliminationSize; i++) {
+            elimination[i] = new Exchanger();
+        }
+    }
+
+    /**
+     * Pushes an element onto the top of the stack making it the newest element in the stack.
+     *
+     * @param element the element to push onto the stack
+     */
+    public void push(T element) {
+        Node<T> node = new Node<>(element);
+        while (true) {
+            Node<T> oldTop = top.get();
+            node.next = oldTop;
+            if (top.compareAndSet(oldTop, node)) {
+                return;
+            }
+            if (eliminate(node) == POP) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack. This element is the most recently
+     * added element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        while (true) {
+            Node<T> oldTop = top.get();
+            if (oldTop == null) {
+                throw new EmptyStackException();
+            }
+            if (top.compareAndSet(oldTop, oldTop.next)) {
+                return oldTop.element;
+            }
+            Object other = eliminate(POP);
+            if (other instanceof Node) {
+                return ((Node<T>) other).element;
+            }
+        }
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    public T top() {
+        Node<T> current = top.get();
+        if (current == null) {
+            throw new EmptyStackException();
+        }
+        return current.element;
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     * The elements are listed from the oldest to the newest, as they were at one moment.
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     */
+    @Override
+    public String toString() {
+        ArrayList<T> elements = new ArrayList<>();
+        for (Node<T> node = top.get(); node != null; node = node.next) {
+            elements.add(node.element);
+        }
+        StringBuilder sb = new StringBuilder("Stack: ");
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            sb.append(elements.get(i)).append(" ");
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Offers an object at a random exchanger of the elimination array.
+     *
+     * @param mine the node to push, or POP
+     * @return the object offered by the partner, or TIMED_OUT if none came
+     */
+    private Object eliminate(Object mine) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length);
+        Object other = elimination[slot].exchange(mine, ELIMINATION_NANOS);
+        // A push that met a push, or a pop that met a pop, did not eliminate anything
+        return (mine == POP) == (other == POP) ? TIMED_OUT : other;
+    }
+
+    /**
+     * A node of the linked list holding the stack's elements.
+     * Its next node is only changed before the node is published as the top.
+     *
+     * @param <T> the type of the element
+     */
+    private static final class Node<T> {
+        /** The element stored in this node. */
+        private final T element;
+
+        /** The node below this one, or null at the bottom of the stack. */
+        private Node<T> next;
+
+        /**
+         * Constructs a node holding an element.
+         *
+         * @param element the element to store
+         */
+        private Node(T element) {
+            this.element = element;
+        }
+    }
+
+    /**
+     * A slot where two threads can swap objects without locks.
+     * The stamp records whether the slot is empty, holds an object waiting for a partner, or has
+     * been answered by a partner.
+     */
+    private static final class Exchanger {
+        /** Stamp of a slot with no object in it. */
+        private static final int EMPTY = 0;
+
+        /** Stamp of a slot holding an object that waits for a partner. */
+        private static final int WAITING = 1;
+
+        /** Stamp of a slot holding the partner's answer. */
+        private static final int BUSY = 2;
+
+        /** The object in the slot and the slot's state. */
+        private final AtomicStampedReference<Object> slot =
+                new AtomicStampedReference<>(null, EMPTY);
+
+        /**
+         * Swaps an object with another thread that comes to this slot in time.
+         *
+         * @param mine the object to give
+         * @param nanos how long to wait for a partner
+         * @return the partner's object, or TIMED_OUT if no partner came in time
+         */
+        private Object exchange(Object mine, long nanos) {
+            long deadline = System.nanoTime() + nanos;
+            int[] stamp = new int[1];
+            while (System.nanoTime() < deadline) {
+                Object other = slot.get(stamp);
+                switch (stamp[0]) {
+                    case EMPTY:
+                        if (slot.compareAndSet(other, mine, EMPTY, WAITING)) {
+                            return awaitPartner(mine, deadline);
+                        }
+                        break;
+                    case WAITING:
+                        if (slot.compareAndSet(other, mine, WAITING, BUSY)) {
+                            return other;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                Thread.onSpinWait();
+            }
+            return TIMED_OUT;
+        }
+
+        /**
+         * Waits for a partner to answer an object placed in the slot, then empties the slot.
+         *
+         * @param mine the object placed in the slot
+         * @param deadline the time to give up at, from System.nanoTime
+         * @return the partner's object, or TIMED_OUT if no partner came in time
+         */
+        private Object awaitPartner(Object mine, long deadline) {
+            int[] stamp = new int[1];
+            while (System.nanoTime() < deadline) {
+                Object other = slot.get(stamp);
+                if (stamp[0] == BUSY) {
+                    slot.set(null, EMPTY);
+                    return other;
+                }
+                Thread.onSpinWait();
+            }
+            if (slot.compareAndSet(mine, null, WAITING, EMPTY)) {
+                return TIMED_OUT;
+            }
+            // A partner answered just before the deadline
+            Object other = slot.getReference();
+            slot.set(null, EMPTY);
+            return other;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * A stack of double values stored in a double array, so values are never boxed.
+ * Follows LIFO (Last In First Out) principle, with the same operations as MyStack.
+ * Once the array has grown to the deepest size the stack reaches, push and pop allocate nothing.
+ */
+public class DoubleStack {
+    /** The capacity of a stack created without one. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The array storing the stack elements; only the first size entries are used. */
+    private double[] elements;
+
+    /** The number of elements in the stack. */
+    private int size;
+
+    /**
+     * Constructs an empty stack.
+     */
+    public DoubleStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty stack with room for the given number of elements before it grows.
+     *
+     * @param initialCapacity the number of elements to make room for
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public DoubleStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        elements = new double[initialCapacity];
+    }
+
+    /**
+     * Pushes an element onto the top of the stack making it the newest element in the stack.
+     * The array grows by half when it is full.
+     *
+     * @param element the element to push onto the stack
+     */
+    public void push(double element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length + (elements.length >> 1) + 1);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack. This element is the most recently
+     * added element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    public double pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    public double top() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Stack:");
+        for (int i = 0; i < size; i++) {
+            sb.append(' ').append(elements[i]);
+        }
+        return sb.toString();
+    }
+}
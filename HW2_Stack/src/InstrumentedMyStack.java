@@ -0,0 +1,311 @@
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.EmptyStackException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * A MyStack that counts its operations and tracks its depth.
+ * Follows LIFO (Last In First Out) principle, with the same operations as MyStack.
+ * <p>
+ * Instrumentation is opt-in: only stacks created as InstrumentedMyStack pay for it, and a plain
+ * MyStack runs exactly as before. Push, pop and top are counted in LongAdders. The stack also
+ * keeps its current and high-water depth, and counts how many times the ArrayList behind it grows
+ * its array, by following the same rule as ArrayList: ten elements at first, then half as many
+ * again each time it is full.
+ * </p>
+ * <p>
+ * After {@link #register(String)} the metrics can be read over JMX as a StackMetricsMXBean, and
+ * a Java Flight Recorder recording receives a metrics event every second. Each time the
+ * high-water depth reaches a power of two, a high-water event is also recorded. The counters are
+ * written by the thread using the stack and can be read from any thread; the depths read from
+ * another thread may be slightly out of date.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public class InstrumentedMyStack<T> extends MyStack<T> implements StackMetricsMXBean {
+    /** The capacity ArrayList gives its array on the first push. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The number of elements pushed. */
+    private final LongAdder pushes = new LongAdder();
+
+    /** The number of elements popped. */
+    private final LongAdder pops = new LongAdder();
+
+    /** The number of calls to top. */
+    private final LongAdder tops = new LongAdder();
+
+    /** The number of times the array has grown. */
+    private final LongAdder resizes = new LongAdder();
+
+    /** The capacity of the ArrayList's array, following ArrayList's growth rule. */
+    private int capacity;
+
+    /** The number of elements in the stack. */
+    private int depth;
+
+    /** The largest depth since creation or the last reset. */
+    private int highWater;
+
+    /** The name given at registration, or null if the stack is not registered. */
+    private String name;
+
+    /** The JMX name of the stack, or null if the stack is not registered. */
+    private ObjectName objectName;
+
+    /** Records the metrics event for this stack, or null if the stack is not registered. */
+    private Runnable periodicHook;
+
+    /**
+     * Constructs an empty instrumented stack.
+     */
+    public InstrumentedMyStack() {
+        super();
+    }
+
+    /**
+     * Pushes an element onto the top of the stack making it the newest element in the stack.
+     *
+     * @param element the element to push onto the stack
+     */
+    @Override
+    public void push(T element) {
+        super.push(element);
+        pushes.increment();
+        grew(1);
+    }
+
+    /**
+     * Pushes every element of a collection in iteration order, so the last one ends up on top.
+     *
+     * @param batch the elements to push onto the stack
+     */
+    @Override
+    public void pushAll(Collection<? extends T> batch) {
+        int before = depth;
+        super.pushAll(batch);
+        pushes.add(size() - before);
+        grew(size() - before);
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack. This element is the most recently
+     * added element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    @Override
+    public T pop() {
+        T element = super.pop();
+        pops.increment();
+        depth--;
+        return element;
+    }
+
+    /**
+     * Removes the given number of elements from the top of the stack into an array, the top
+     * element first.
+     *
+     * @param count the number of elements to pop
+     * @param dest the array receiving the elements from index 0
+     */
+    @Override
+    public void popN(int count, T[] dest) {
+        super.popN(count, dest);
+        pops.add(count);
+        depth -= count;
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    @Override
+    public T top() {
+        T element = super.top();
+        tops.increment();
+        return element;
+    }
+
+    @Override
+    public long getPushCount() {
+        return pushes.sum();
+    }
+
+    @Override
+    public long getPopCount() {
+        return pops.sum();
+    }
+
+    @Override
+    public long getTopCount() {
+        return tops.sum();
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public int getHighWaterDepth() {
+        return highWater;
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizes.sum();
+    }
+
+    @Override
+    public void resetHighWaterDepth() {
+        highWater = depth;
+    }
+
+    /**
+     * Publishes the metrics of this stack over JMX, under the name
+     * "MyStack:type=InstrumentedMyStack,name=" followed by the given name, and adds a periodic
+     * metrics event for this stack to Java Flight Recorder.
+     *
+     * @param name the name identifying this stack
+     * @return the JMX name of the stack.
+     * @throws IllegalStateException if the stack is already registered, or JMX refuses it
+     */
+    public synchronized ObjectName register(String name) {
+        if (objectName != null) {
+            throw new IllegalStateException("Stack is already registered.");
+        }
+        try {
+            ObjectName jmxName = new ObjectName("MyStack:type=InstrumentedMyStack,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, jmxName);
+            objectName = jmxName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register stack " + name + ".", e);
+        }
+        this.name = name;
+        periodicHook = this::recordMetrics;
+        FlightRecorder.addPeriodicEvent(MetricsEvent.class, periodicHook);
+        return objectName;
+    }
+
+    /**
+     * Removes the metrics of this stack from JMX and Java Flight Recorder. Does nothing if the
+     * stack is not registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister stack " + name + ".", e);
+        } finally {
+            FlightRecorder.removePeriodicEvent(periodicHook);
+            objectName = null;
+            periodicHook = null;
+        }
+    }
+
+    /**
+     * Updates the depth, the high-water mark and the resize count after a push.
+     *
+     * @param added the number of elements pushed
+     */
+    private void grew(int added) {
+        int newDepth = depth + added;
+        depth = newDepth;
+        if (newDepth > capacity) {
+            capacity = capacity == 0 ? Math.max(DEFAULT_CAPACITY, newDepth)
+                    : Math.max(newDepth, capacity + (capacity >> 1));
+            resizes.increment();
+        }
+        if (newDepth > highWater) {
+            int previous = highWater;
+            highWater = newDepth;
+            // Record only when the mark reaches a new power of two, to keep events rare
+            if (Integer.highestOneBit(newDepth) > previous) {
+                HighWaterEvent event = new HighWaterEvent();
+                if (event.shouldCommit()) {
+                    event.stack = name;
+                    event.depth = newDepth;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a metrics event with the current values.
+     */
+    private void recordMetrics() {
+        MetricsEvent event = new MetricsEvent();
+        event.stack = name;
+        event.pushes = getPushCount();
+        event.pops = getPopCount();
+        event.tops = getTopCount();
+        event.depth = depth;
+        event.highWater = highWater;
+        event.resizes = getResizeCount();
+        event.commit();
+    }
+
+    /**
+     * The periodic Java Flight Recorder event holding the metrics of a registered stack.
+     */
+    @Name("mystack.Metrics")
+    @Label("MyStack Metrics")
+    @Category("MyStack")
+    @Period("1 s")
+    static final class MetricsEvent extends Event {
+        @Label("Stack")
+        String stack;
+
+        @Label("Pushes")
+        long pushes;
+
+        @Label("Pops")
+        long pops;
+
+        @Label("Tops")
+        long tops;
+
+        @Label("Depth")
+        int depth;
+
+        @Label("High-Water Depth")
+        int highWater;
+
+        @Label("Resizes")
+        long resizes;
+    }
+
+    /**
+     * The Java Flight Recorder event recorded when the high-water depth reaches a power of two.
+     */
+    @Name("mystack.HighWater")
+    @Label("MyStack High-Water Depth")
+    @Category("MyStack")
+    @Description("The depth of an instrumented stack reached a new power of two.")
+    static final class HighWaterEvent extends Event {
+        @Label("Stack")
+        String stack;
+
+        @Label("Depth")
+        int depth;
+    }
+}
@@ -1,5 +1,12 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.EmptyStackException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 import static java.util.Optional.empty;
 
@@ -7,13 +14,21 @@ import static java.util.Optional.empty;
  * A generic stack implementation using ArrayList as the underlying data structure.
  * Follows LIFO (Last In First Out) principle.
  * Provides basic stack operations such as push, pop, top and checking for empty.
+ * <p>
+ * A stack created with {@link #persistent()} keeps its elements in a PersistentStack instead, so
+ * that {@link #snapshot()} takes constant time and later pushes and pops share the cells of every
+ * snapshot rather than copying them.
+ * </p>
  *
  * @param <T> the type of elements stored in the stack
  */
 public class MyStack<T> {
-    /** The ArrayList used to store stack elements. */
+    /** The ArrayList used to store stack elements, or null in persistent mode. */
     private ArrayList<T> elements;
 
+    /** The immutable stack holding the elements in persistent mode, or null otherwise. */
+    private PersistentStack<T> cells;
+
     /**
      * Constructs an empty stack.
      * Initializes the internal ArrayList that will store the stack elements.
@@ -22,15 +37,99 @@ public class MyStack<T> {
         elements = new ArrayList<>();
     }
 
+    /**
+     * Constructs an empty stack in persistent mode.
+     *
+     * @param cells the empty immutable stack to start from
+     */
+    private MyStack(PersistentStack<T> cells) {
+        this.cells = cells;
+    }
+
+    /**
+     * Creates an empty stack in persistent mode, whose snapshots take constant time.
+     *
+     * @param <T> the type of elements stored in the stack
+     * @return a new empty stack.
+     */
+    public static <T> MyStack<T> persistent() {
+        return new MyStack<>(PersistentStack.empty());
+    }
+
     /**
      * Pushes an element onto the top of the stack making it the newest element in the stack.
      *
      * @param element the element to push onto the stack
      */
     public void push(T element) {
+        if (cells != null) {
+            cells = cells.push(element);
+            return;
+        }
         elements.add(element);
     }
 
+    /**
+     * Pushes every element of a collection in iteration order, so the last one ends up on top.
+     * The ArrayList grows at most once for the whole collection.
+     *
+     * @param batch the elements to push onto the stack
+     */
+    public void pushAll(Collection<? extends T> batch) {
+        if (cells != null) {
+            for (T element : batch) {
+                cells = cells.push(element);
+            }
+            return;
+        }
+        elements.addAll(batch);
+    }
+
+    /**
+     * Pushes every element of an array in order, so the last one ends up on top.
+     * The ArrayList grows at most once for the whole array.
+     *
+     * @param batch the elements to push onto the stack
+     */
+    public void pushAll(T[] batch) {
+        pushAll(Arrays.asList(batch));
+    }
+
+    /**
+     * Removes the given number of elements from the top of the stack into an array, the top
+     * element first.
+     *
+     * @param count the number of elements to pop
+     * @param dest the array receiving the elements from index 0
+     * @throws IllegalArgumentException if the count is negative
+     * @throws IndexOutOfBoundsException if the array is shorter than the count
+     * @throws EmptyStackException if the stack holds fewer elements than the count; the stack is
+     *                             then left unchanged
+     */
+    public void popN(int count, T[] dest) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative.");
+        }
+        if (count > dest.length) {
+            throw new IndexOutOfBoundsException("Invalid count: " + count);
+        }
+        if (count > size()) {
+            throw new EmptyStackException();
+        }
+        if (cells != null) {
+            for (int i = 0; i < count; i++) {
+                dest[i] = cells.top();
+                cells = cells.pop();
+            }
+            return;
+        }
+        int size = elements.size();
+        for (int i = 0; i < count; i++) {
+            dest[i] = elements.get(size - 1 - i);
+        }
+        elements.subList(size - count, size).clear();
+    }
+
     /**
      * Removes and returns the element at the top of the stack. This element is the most recently added element.
      *
@@ -38,6 +137,11 @@ public class MyStack<T> {
      * @throws EmptyStackException if stack is empty.
      */
     public T pop() {
+        if (cells != null) {
+            T element = cells.top();
+            cells = cells.pop();
+            return element;
+        }
         if (elements.isEmpty()) {
             throw new EmptyStackException();
         }
@@ -51,6 +155,9 @@ public class MyStack<T> {
      * @throws EmptyStackException if stack is empty.
      */
     public T top(){
+        if (cells != null) {
+            return cells.top();
+        }
         if (elements.isEmpty()) {
             throw new EmptyStackException();
         }
@@ -63,7 +170,96 @@ public class MyStack<T> {
      * @return true if the stack is empty and false otherwise.
      */
     public boolean isEmpty() {
-        return elements.isEmpty();
+        return cells != null ? cells.isEmpty() : elements.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return cells != null ? cells.size() : elements.size();
+    }
+
+    /**
+     * Performs an action for each element from the top of the stack down, without creating an
+     * iterator or changing the stack.
+     *
+     * @param action the action to perform on each element
+     */
+    public void forEach(Consumer<? super T> action) {
+        if (cells != null) {
+            cells.forEach(action);
+            return;
+        }
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            action.accept(elements.get(i));
+        }
+    }
+
+    /**
+     * Returns a spliterator over the elements from the top of the stack down, which parallel
+     * streams can use. In ArrayList mode it splits in halves, and the stack must not change while
+     * the spliterator is in use. In persistent mode the cells can only be walked from the top, so
+     * it splits off batches of elements copied from the top into arrays.
+     *
+     * @return a spliterator over the elements, newest first.
+     */
+    public Spliterator<T> spliterator() {
+        if (cells != null) {
+            return Spliterators.spliterator(cells.iterator(), cells.size(),
+                    Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+        return new TopDownSpliterator<>(elements, 0, elements.size());
+    }
+
+    /**
+     * Writes the stack's elements like toString does, "Stack: element1 element2...", without
+     * building the whole string first. Unlike toString, whitespace at the end of the last element
+     * is written as is rather than trimmed. In persistent mode the elements are written with
+     * {@link PersistentStack#forEachFromBottom(Consumer)}, so no copy of the stack is made either.
+     *
+     * @param out the destination to write to
+     * @throws IOException if the destination cannot be written
+     */
+    public void writeTo(Appendable out) throws IOException {
+        out.append("Stack:");
+        if (cells != null) {
+            try {
+                cells.forEachFromBottom(element -> {
+                    try {
+                        out.append(' ').append(String.valueOf(element));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return;
+        }
+        for (T element : elements) {
+            out.append(' ').append(String.valueOf(element));
+        }
+    }
+
+    /**
+     * Returns a read-only copy of the stack as it is now. Later pushes and pops on this stack do
+     * not change it. In persistent mode this takes constant time and no memory; otherwise the
+     * elements are copied.
+     *
+     * @return an immutable stack holding the same elements.
+     */
+    public PersistentStack<T> snapshot() {
+        if (cells != null) {
+            return cells;
+        }
+        PersistentStack<T> copy = PersistentStack.empty();
+        for (T element : elements) {
+            copy = copy.push(element);
+        }
+        return copy;
     }
 
     /**
@@ -73,11 +269,81 @@ public class MyStack<T> {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder("Stack: ");
-        for (T element : elements) {
-            sb.append(element).append(" ");
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
         }
+        // Trimmed like the original output, which ended in a space after every element
         return sb.toString().trim();
     }
 
+    /**
+     * A spliterator over a range of an ArrayList from its end down. It splits off the upper
+     * half of its range, which holds the elements nearer the top.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class TopDownSpliterator<T> implements Spliterator<T> {
+        /** The list holding the elements. */
+        private final ArrayList<T> list;
+
+        /** The lowest index of the range. */
+        private final int low;
+
+        /** One past the index of the next element to visit. */
+        private int high;
+
+        /**
+         * Constructs a spliterator over the indices from low up to high, visited downwards.
+         *
+         * @param list the list holding the elements
+         * @param low the lowest index of the range
+         * @param high one past the highest index of the range
+         */
+        private TopDownSpliterator(ArrayList<T> list, int low, int high) {
+            this.list = list;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (high <= low) {
+                return false;
+            }
+            action.accept(list.get(--high));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (high > low) {
+                action.accept(list.get(--high));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = (low + high) >>> 1;
+            if (middle <= low) {
+                return null;
+            }
+            Spliterator<T> upper = new TopDownSpliterator<>(list, middle, high);
+            high = middle;
+            return upper;
+        }
+
+        @Override
+        public long estimateSize() {
+            return high - low;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
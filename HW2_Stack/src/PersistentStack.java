@@ -0,0 +1,215 @@
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A generic immutable stack. Follows LIFO (Last In First Out) principle.
+ * <p>
+ * Push and pop do not change the stack; they return a new one. The stacks share their cells: a
+ * push adds one cell in front of the cells of the stack it was called on, and a pop returns the
+ * stack that starts at the next cell. Both take constant time and memory, however many stacks
+ * share the same cells, so keeping old versions of a stack costs only the cells that differ.
+ * Iterating visits the elements from the top down.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public final class PersistentStack<T> implements Iterable<T> {
+    /** The stack with no elements, shared by every type. */
+    private static final PersistentStack<?> EMPTY = new PersistentStack<>(null, 0);
+
+    /** The cell holding the top element, or null if the stack is empty. */
+    private final Cell<T> head;
+
+    /** The number of elements in the stack. */
+    private final int size;
+
+    /**
+     * Constructs a stack starting at a cell.
+     *
+     * @param head the cell holding the top element, or null for an empty stack
+     * @param size the number of elements
+     */
+    private PersistentStack(Cell<T> head, int size) {
+        this.head = head;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty stack.
+     *
+     * @param <T> the type of elements stored in the stack
+     * @return a stack with no elements.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentStack<T> empty() {
+        return (PersistentStack<T>) EMPTY;
+    }
+
+    /**
+     * Returns a stack with an element on top of the elements of this stack.
+     *
+     * @param element the element to push onto the stack
+     * @return the new stack.
+     */
+    public PersistentStack<T> push(T element) {
+        return new PersistentStack<>(new Cell<>(element, head), size + 1);
+    }
+
+    /**
+     * Returns the stack holding the elements of this stack without the top one.
+     *
+     * @return the stack below the top element.
+     * @throws EmptyStackException if stack is empty.
+     */
+    public PersistentStack<T> pop() {
+        if (head == null) {
+            throw new EmptyStackException();
+        }
+        return head.next == null ? empty() : new PersistentStack<>(head.next, size - 1);
+    }
+
+    /**
+     * Returns the element at the top of the stack.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    public T top() {
+        if (head == null) {
+            throw new EmptyStackException();
+        }
+        return head.element;
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the elements from the top of the stack down.
+     *
+     * @return an iterator over the elements, newest first.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Cell<T> next = head;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T element = next.element;
+                next = next.next;
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Performs an action for each element from the top of the stack down, without creating an
+     * iterator.
+     *
+     * @param action the action to perform on each element
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (Cell<T> cell = head; cell != null; cell = cell.next) {
+            action.accept(cell.element);
+        }
+    }
+
+    /**
+     * Performs an action for each element from the bottom of the stack up. The cells only link
+     * downwards, so this walks the stack twice: once to mark every step-th cell, where the step is
+     * about the square root of the size, and once to visit the runs between the marks from the
+     * bottom run up, each reversed in a small buffer. It never holds a copy of the whole stack.
+     *
+     * @param action the action to perform on each element
+     */
+    public void forEachFromBottom(Consumer<? super T> action) {
+        if (head == null) {
+            return;
+        }
+        int step = (int) Math.ceil(Math.sqrt(size));
+        @SuppressWarnings("unchecked")
+        Cell<T>[] marks = (Cell<T>[]) new Cell<?>[(size + step - 1) / step];
+        int count = 0;
+        int marked = 0;
+        for (Cell<T> cell = head; cell != null; cell = cell.next) {
+            if (count++ % step == 0) {
+                marks[marked++] = cell;
+            }
+        }
+        Object[] run = new Object[step];
+        for (int m = marked - 1; m >= 0; m--) {
+            int length = 0;
+            for (Cell<T> cell = marks[m]; cell != null && length < step; cell = cell.next) {
+                run[length++] = cell.element;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                @SuppressWarnings("unchecked")
+                T element = (T) run[i];
+                action.accept(element);
+            }
+        }
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Stack: ");
+        forEachFromBottom(element -> sb.append(element).append(" "));
+        return sb.toString().trim();
+    }
+
+    /**
+     * A cell of the linked list holding the stack's elements. Cells never change.
+     *
+     * @param <T> the type of the element
+     */
+    private static final class Cell<T> {
+        /** The element stored in this cell. */
+        private final T element;
+
+        /** The cell below this one, or null at the bottom of the stack. */
+        private final Cell<T> next;
+
+        /**
+         * Constructs a cell.
+         *
+         * @param element the element to store
+         * @param next the cell below, or null at the bottom
+         */
+        private Cell(T element, Cell<T> next) {
+            this.element = element;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+import java.util.ArrayDeque;
+import java.util.EmptyStackException;
+
+/**
+ * A generic stack that stores its elements in linked fixed-size chunks instead of one array.
+ * Follows LIFO (Last In First Out) principle, with the same operations as MyStack.
+ * <p>
+ * Growing the stack links a new chunk on top, so elements are never copied. A chunk emptied by
+ * pop goes back to a small pool, so pushing and popping around a chunk boundary does not allocate
+ * each time, and chunks beyond the pool are left to the garbage collector. When the depth drops
+ * below the release watermark the pool is emptied too, so after a spike the stack only keeps the
+ * chunks it is using. The pool is emptied once per spike: only after the depth has again risen
+ * more than a chunk above the watermark, so pushing and popping around the watermark does not
+ * empty the pool each time.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public class SegmentedMyStack<T> {
+    /** The chunk size of a stack created without one. */
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /** The pool size of a stack created without one. */
+    private static final int DEFAULT_POOL_SIZE = 4;
+
+    /** The number of elements each chunk holds. */
+    private final int chunkSize;
+
+    /** The most empty chunks kept for reuse. */
+    private final int poolSize;
+
+    /** The depth below which pooled chunks are released. */
+    private final int releaseWatermark;
+
+    /** Whether the depth has risen more than a chunk above the watermark since the last release. */
+    private boolean releaseArmed;
+
+    /** Empty chunks kept for reuse. */
+    private final ArrayDeque<Object[]> pool = new ArrayDeque<>();
+
+    /** The chunk holding the top element, or the bottom chunk if the stack is empty. */
+    private Chunk top;
+
+    /** The number of elements in the top chunk. */
+    private int topCount;
+
+    /** The number of elements in the stack. */
+    private int size;
+
+    /**
+     * Constructs an empty stack with chunks of 1024 elements, a pool of 4 chunks, and a release
+     * watermark of one chunk.
+     */
+    public SegmentedMyStack() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_POOL_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an empty stack.
+     *
+     * @param chunkSize the number of elements each chunk holds
+     * @param poolSize the most empty chunks kept for reuse
+     * @param releaseWatermark the depth below which the pooled chunks are released, once the
+     *                         depth has been more than a chunk above it
+     * @throws IllegalArgumentException if the chunk size is not positive, or the pool size or
+     *                                  watermark is negative
+     */
+    public SegmentedMyStack(int chunkSize, int poolSize, int releaseWatermark) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        if (poolSize < 0 || releaseWatermark < 0) {
+            throw new IllegalArgumentException("Pool size and watermark cannot be negative.");
+        }
+        this.chunkSize = chunkSize;
+        this.poolSize = poolSize;
+        this.releaseWatermark = releaseWatermark;
+        top = new Chunk(new Object[chunkSize], null);
+    }
+
+    /**
+     * Pushes an element onto the top of the stack making it the newest element in the stack.
+     *
+     * @param element the element to push onto the stack
+     */
+    public void push(T element) {
+        if (topCount == chunkSize) {
+            Object[] elements = pool.isEmpty() ? new Object[chunkSize] : pool.pop();
+            top = new Chunk(elements, top);
+            topCount = 0;
+        }
+        top.elements[topCount++] = element;
+        size++;
+        if (size - chunkSize > releaseWatermark) {
+            releaseArmed = true;
+        }
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack. This element is the most recently
+     * added element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        T element = (T) top.elements[--topCount];
+        top.elements[topCount] = null;
+        size--;
+        if (topCount == 0 && top.below != null) {
+            if (pool.size() < poolSize) {
+                pool.push(top.elements);
+            }
+            top = top.below;
+            topCount = chunkSize;
+        }
+        if (releaseArmed && size < releaseWatermark) {
+            pool.clear();
+            releaseArmed = false;
+        }
+        return element;
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T top() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return (T) top.elements[topCount - 1];
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of empty chunks kept for reuse.
+     *
+     * @return the number of pooled chunks.
+     */
+    int pooledChunks() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the number of chunks linked into the stack, including the partly filled top one.
+     *
+     * @return the number of chunks in use.
+     */
+    int usedChunks() {
+        int count = 0;
+        for (Chunk chunk = top; chunk != null; chunk = chunk.below) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     */
+    @Override
+    public String toString() {
+        ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+        for (Chunk chunk = top; chunk != null; chunk = chunk.below) {
+            chunks.push(chunk);
+        }
+        StringBuilder sb = new StringBuilder("Stack: ");
+        for (Chunk chunk : chunks) {
+            int count = chunk == top ? topCount : chunkSize;
+            for (int i = 0; i < count; i++) {
+                sb.append(chunk.elements[i]).append(" ");
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * A chunk of the stack, linked to the full chunk below it.
+     */
+    private static final class Chunk {
+        /** The elements of this chunk, from the bottom up. */
+        private final Object[] elements;
+
+        /** The chunk below this one, or null for the bottom chunk. */
+        private final Chunk below;
+
+        /**
+         * Constructs a chunk on top of another.
+         *
+         * @param elements the array holding the chunk's elements
+         * @param below the chunk below, or null for the bottom chunk
+         */
+        private Chunk(Object[] elements, Chunk below) {
+            this.elements = elements;
+            this.below = below;
+        }
+    }
+}
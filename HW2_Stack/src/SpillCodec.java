@@ -0,0 +1,29 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts the elements of a SpillingMyStack to and from bytes, so that elements far from the
+ * top can be moved out of the heap into a file.
+ *
+ * @param <T> the type of elements the codec converts
+ */
+public interface SpillCodec<T> {
+    /**
+     * Writes an element.
+     *
+     * @param element the element to write
+     * @param out the output to write the element to
+     * @throws IOException if the output cannot be written
+     */
+    void write(T element, DataOutput out) throws IOException;
+
+    /**
+     * Reads an element written by {@link #write(Object, DataOutput)}.
+     *
+     * @param in the input to read the element from
+     * @return the element read.
+     * @throws IOException if the input cannot be read
+     */
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,398 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * A generic stack that keeps only the elements near its top on the heap and moves the rest to a
+ * file. Follows LIFO (Last In First Out) principle, with the same operations as MyStack.
+ * <p>
+ * The newest elements sit in an array of a fixed capacity. When a push finds it full, the older
+ * half is written through a SpillCodec to the end of a spill file as one segment, and the newer
+ * half moves down. When a pop finds it empty, the last segment is read back and its space in
+ * the file is reused. Since only half the array is moved each time, a run of pushes and pops at
+ * the boundary moves a segment at most once per half array. The file is created on the first
+ * spill, mapped into memory in regions of 16 MB, and deleted when the stack is closed, or once
+ * the stack is unreachable if it is never closed, so the depth of the stack is limited by the disk
+ * rather than by the heap.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public class SpillingMyStack<T> implements AutoCloseable {
+    /** The number of elements kept on the heap by a stack created without one. */
+    private static final int DEFAULT_HOT_CAPACITY = 8192;
+
+    /** The number of bytes of the spill file mapped at once. */
+    private static final int REGION_BYTES = 1 << 24;
+
+    /** Closes and deletes the spill files of stacks that become unreachable without a close. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** Converts elements to and from bytes. */
+    private final SpillCodec<T> codec;
+
+    /** The directory the spill file is created in, or null for the default temporary one. */
+    private final Path directory;
+
+    /** The newest elements, oldest first; only the first hotCount entries are used. */
+    private final Object[] hot;
+
+    /** The number of elements on the heap. */
+    private int hotCount;
+
+    /** The number of elements in each segment of the spill file. */
+    private final int segmentSize;
+
+    /** The offset in the spill file where each segment ends, oldest first. */
+    private long[] segmentEnds = new long[16];
+
+    /** The number of segments in the spill file. */
+    private int segments;
+
+    /** The spill file, or null before the first spill. */
+    private Path file;
+
+    /** The open spill file, or null before the first spill. */
+    private FileChannel channel;
+
+    /** The regions of the spill file mapped so far; unmapped regions are null. */
+    private MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+    /** Closes and deletes the spill file, or null before the first spill. */
+    private Cleaner.Cleanable deleter;
+
+    /** Whether the stack has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructs an empty stack that keeps 8192 elements on the heap and spills to a temporary
+     * file.
+     *
+     * @param codec the codec converting elements to and from bytes
+     */
+    public SpillingMyStack(SpillCodec<T> codec) {
+        this(codec, DEFAULT_HOT_CAPACITY, null);
+    }
+
+    /**
+     * Constructs an empty stack.
+     *
+     * @param codec the codec converting elements to and from bytes
+     * @param hotCapacity the number of elements kept on the heap
+     * @param directory the directory to create the spill file in, or null for the default
+     *                  temporary directory
+     * @throws IllegalArgumentException if the capacity is less than 2
+     */
+    public SpillingMyStack(SpillCodec<T> codec, int hotCapacity, Path directory) {
+        if (hotCapacity < 2) {
+            throw new IllegalArgumentException("Hot capacity must be at least 2.");
+        }
+        this.codec = codec;
+        this.directory = directory;
+        hot = new Object[hotCapacity];
+        segmentSize = hotCapacity / 2;
+    }
+
+    /**
+     * Pushes an element onto the top of the stack making it the newest element in the stack.
+     *
+     * @param element the element to push onto the stack
+     * @throws UncheckedIOException if the spill file cannot be written
+     * @throws IllegalStateException if the stack is closed
+     */
+    public void push(T element) {
+        checkOpen();
+        if (hotCount == hot.length) {
+            spill();
+        }
+        hot[hotCount++] = element;
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack. This element is the most recently
+     * added element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     * @throws UncheckedIOException if the spill file cannot be read
+     * @throws IllegalStateException if the stack is closed
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        fill();
+        T element = (T) hot[--hotCount];
+        hot[hotCount] = null;
+        return element;
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     * @throws UncheckedIOException if the spill file cannot be read
+     * @throws IllegalStateException if the stack is closed
+     */
+    @SuppressWarnings("unchecked")
+    public T top() {
+        fill();
+        return (T) hot[hotCount - 1];
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return hotCount == 0 && segments == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack, on the heap and in the spill file.
+     *
+     * @return the number of elements.
+     */
+    public long size() {
+        return hotCount + (long) segments * segmentSize;
+    }
+
+    /**
+     * Returns the number of segments in the spill file.
+     *
+     * @return the number of spilled segments.
+     */
+    int spilledSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns the spill file, or null if nothing has been spilled yet.
+     *
+     * @return the path of the spill file.
+     */
+    Path spillFile() {
+        return file;
+    }
+
+    /**
+     * Closes the spill file and deletes it. The stack cannot be used afterwards.
+     *
+     * @throws UncheckedIOException if the file cannot be closed or deleted
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Arrays.fill(hot, null);
+        hotCount = 0;
+        segments = 0;
+        regions = new MappedByteBuffer[0];
+        if (deleter != null) {
+            deleter.clean();
+        }
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     * The spilled elements are read back from the file to build the string.
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     * @throws UncheckedIOException if the spill file cannot be read
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Stack: ");
+        Object[] segment = new Object[segmentSize];
+        for (int i = 0; i < segments; i++) {
+            readSegment(i, segment);
+            for (Object element : segment) {
+                sb.append(element).append(" ");
+            }
+        }
+        for (int i = 0; i < hotCount; i++) {
+            sb.append(hot[i]).append(" ");
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Writes the older half of the heap elements to the end of the spill file and moves the
+     * newer half down.
+     */
+    private void spill() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            for (int i = 0; i < segmentSize; i++) {
+                @SuppressWarnings("unchecked")
+                T element = (T) hot[i];
+                codec.write(element, out);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long start = segments == 0 ? 0 : segmentEnds[segments - 1];
+        copy(start, bytes.toByteArray(), true);
+        if (segments == segmentEnds.length) {
+            segmentEnds = Arrays.copyOf(segmentEnds, segments * 2);
+        }
+        segmentEnds[segments++] = start + bytes.size();
+        hotCount -= segmentSize;
+        System.arraycopy(hot, segmentSize, hot, 0, hotCount);
+        Arrays.fill(hot, hotCount, hot.length, null);
+    }
+
+    /**
+     * Makes sure the top element is on the heap, reading the last segment back if the heap part
+     * is empty.
+     *
+     * @throws EmptyStackException if stack is empty.
+     */
+    private void fill() {
+        checkOpen();
+        if (hotCount > 0) {
+            return;
+        }
+        if (segments == 0) {
+            throw new EmptyStackException();
+        }
+        readSegment(segments - 1, hot);
+        segments--;
+        hotCount = segmentSize;
+    }
+
+    /**
+     * Reads a segment of the spill file.
+     *
+     * @param index the number of the segment, from the oldest
+     * @param target the array receiving the elements of the segment, oldest first
+     */
+    private void readSegment(int index, Object[] target) {
+        long start = index == 0 ? 0 : segmentEnds[index - 1];
+        byte[] bytes = new byte[(int) (segmentEnds[index] - start)];
+        copy(start, bytes, false);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            for (int i = 0; i < segmentSize; i++) {
+                target[i] = codec.read(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copies bytes between an array and the spill file, across region boundaries.
+     *
+     * @param position the offset in the file
+     * @param bytes the bytes to write, or the array to read into
+     * @param write true to write the bytes to the file, false to read them
+     */
+    private void copy(long position, byte[] bytes, boolean write) {
+        int done = 0;
+        while (done < bytes.length) {
+            long offset = position + done;
+            MappedByteBuffer region = region((int) (offset / REGION_BYTES));
+            int within = (int) (offset % REGION_BYTES);
+            int length = Math.min(bytes.length - done, REGION_BYTES - within);
+            if (write) {
+                region.put(within, bytes, done, length);
+            } else {
+                region.get(within, bytes, done, length);
+            }
+            done += length;
+        }
+    }
+
+    /**
+     * Returns a region of the spill file, creating the file or mapping the region if needed.
+     *
+     * @param number the number of the region
+     * @return the mapped region.
+     */
+    private MappedByteBuffer region(int number) {
+        if (number < regions.length && regions[number] != null) {
+            return regions[number];
+        }
+        try {
+            if (channel == null) {
+                file = directory == null ? Files.createTempFile("mystack", ".spill")
+                        : Files.createTempFile(directory, "mystack", ".spill");
+                channel = FileChannel.open(file, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                deleter = CLEANER.register(this, new SpillFileDeleter(file, channel));
+            }
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE,
+                    (long) number * REGION_BYTES, REGION_BYTES);
+            regions = Arrays.copyOf(regions, Math.max(regions.length, number + 1));
+            regions[number] = region;
+            return region;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Throws if the stack has been closed.
+     *
+     * @throws IllegalStateException if the stack is closed
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Stack is closed.");
+        }
+    }
+
+    /**
+     * Closes and deletes a spill file. It holds only the file and its channel, so that the stack
+     * it cleans up after can become unreachable.
+     */
+    private static final class SpillFileDeleter implements Runnable {
+        /** The spill file. */
+        private final Path file;
+
+        /** The open spill file. */
+        private final FileChannel channel;
+
+        /**
+         * Constructs a deleter for a spill file.
+         *
+         * @param file the spill file
+         * @param channel the open spill file
+         */
+        private SpillFileDeleter(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        /**
+         * Closes the channel and deletes the file.
+         *
+         * @throws UncheckedIOException if the file cannot be closed or deleted
+         */
+        @Override
+        public void run() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * The metrics of an InstrumentedMyStack, as shown over JMX.
+ */
+public interface StackMetricsMXBean {
+    /**
+     * Returns the number of elements pushed so far.
+     *
+     * @return the push count.
+     */
+    long getPushCount();
+
+    /**
+     * Returns the number of elements popped so far.
+     *
+     * @return the pop count.
+     */
+    long getPopCount();
+
+    /**
+     * Returns the number of calls to top so far.
+     *
+     * @return the top count.
+     */
+    long getTopCount();
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the current depth.
+     */
+    int getDepth();
+
+    /**
+     * Returns the largest number of elements the stack has held since it was created or since
+     * the mark was last reset.
+     *
+     * @return the high-water depth.
+     */
+    int getHighWaterDepth();
+
+    /**
+     * Returns the number of times the ArrayList behind the stack has grown its array.
+     *
+     * @return the resize count.
+     */
+    long getResizeCount();
+
+    /**
+     * Sets the high-water depth to the current depth.
+     */
+    void resetHighWaterDepth();
+}
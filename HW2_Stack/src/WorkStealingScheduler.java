@@ -0,0 +1,318 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs recursive tasks on a fixed set of worker threads that balance the work by stealing.
+ * <p>
+ * Each worker owns a WorkStealingStack. A task forked on a worker is pushed onto that worker's
+ * stack, and the worker runs its own tasks newest first, so it keeps working on the data it just
+ * touched. A worker with nothing to do steals the oldest task from another worker's stack; in a
+ * recursive computation the oldest tasks are the largest, so one steal moves a lot of work. A
+ * worker that joins a task which has not finished yet runs other tasks in the meantime instead of
+ * blocking.
+ * </p>
+ */
+public class WorkStealingScheduler implements AutoCloseable {
+    /** How long an idle worker sleeps before looking for work again, in nanoseconds. */
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** The workers, one per thread. */
+    private final Worker[] workers;
+
+    /** Tasks submitted from outside the scheduler, waiting for a worker. */
+    private final ConcurrentLinkedQueue<Task<?>> submissions = new ConcurrentLinkedQueue<>();
+
+    /** Whether the workers should keep running. */
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a scheduler with one worker for each available processor.
+     */
+    public WorkStealingScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a scheduler and starts its workers.
+     *
+     * @param parallelism the number of worker threads
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public WorkStealingScheduler(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Runs a task on the workers and waits for its result.
+     *
+     * @param task the task to run
+     * @param <V> the type of the task's result
+     * @return the result of the task.
+     * @throws IllegalStateException if the scheduler is closed before the task starts
+     */
+    public <V> V invoke(Task<V> task) {
+        if (!running) {
+            throw new IllegalStateException("Scheduler is closed.");
+        }
+        if (Thread.currentThread() instanceof Worker) {
+            task.run();
+            return task.result();
+        }
+        task.waiter = Thread.currentThread();
+        submissions.add(task);
+        // A close that drained the submissions before the add would never fail this task
+        if (!running && submissions.remove(task)) {
+            throw new IllegalStateException("Scheduler is closed.");
+        }
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        while (!task.done) {
+            LockSupport.park(task);
+        }
+        return task.result();
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism.
+     */
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Stops the workers once they finish the task they are running, and waits for them.
+     * Tasks still waiting are not run; submitted tasks fail with IllegalStateException, so the
+     * threads invoking them return.
+     */
+    @Override
+    public void close() {
+        running = false;
+        Task<?> task;
+        while ((task = submissions.poll()) != null) {
+            task.finish(null, new IllegalStateException("Scheduler is closed."));
+        }
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A piece of work that can split itself into tasks run in parallel.
+     * Subclasses implement compute, calling fork on the tasks to run in parallel and join to wait
+     * for their results.
+     *
+     * @param <V> the type of the task's result
+     */
+    public abstract static class Task<V> {
+        /** Whether the task has finished, normally or by throwing. */
+        private volatile boolean done;
+
+        /** The result, once the task has finished normally. */
+        private V value;
+
+        /** What the task threw, or null if it has not thrown. */
+        private Throwable failure;
+
+        /** The thread outside the scheduler waiting for this task, or null. */
+        private volatile Thread waiter;
+
+        /**
+         * Performs the work of this task.
+         *
+         * @return the result of the task.
+         */
+        protected abstract V compute();
+
+        /**
+         * Schedules this task to run in parallel with the calling task.
+         *
+         * @return this task.
+         * @throws IllegalStateException if not called from a task running on a scheduler
+         */
+        public final Task<V> fork() {
+            currentWorker().deque.push(this);
+            return this;
+        }
+
+        /**
+         * Waits for this task to finish and returns its result, running other tasks while it
+         * waits. A task that throws rethrows the exception here.
+         *
+         * @return the result of the task.
+         * @throws IllegalStateException if not called from a task running on a scheduler
+         */
+        public final V join() {
+            if (!done) {
+                Worker worker = currentWorker();
+                while (!done) {
+                    Task<?> other = worker.findTask();
+                    if (other != null) {
+                        other.run();
+                    } else {
+                        // The task was stolen and is still running elsewhere
+                        Thread.yield();
+                    }
+                }
+            }
+            return result();
+        }
+
+        /**
+         * Returns whether this task has finished.
+         *
+         * @return true if the task has finished and false otherwise.
+         */
+        public final boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Runs compute and records its outcome, then wakes a thread waiting from outside.
+         */
+        private void run() {
+            V result = null;
+            Throwable thrown = null;
+            try {
+                result = compute();
+            } catch (Throwable t) {
+                thrown = t;
+            }
+            finish(result, thrown);
+        }
+
+        /**
+         * Records the outcome of this task, then wakes a thread waiting from outside.
+         *
+         * @param result the result, if the task finished normally
+         * @param thrown what the task threw, or null if it finished normally
+         */
+        private void finish(V result, Throwable thrown) {
+            value = result;
+            failure = thrown;
+            done = true;
+            Thread thread = waiter;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * Returns the result of a finished task, or rethrows what it threw.
+         *
+         * @return the result of the task.
+         */
+        private V result() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return value;
+        }
+
+        /**
+         * Returns the worker running the calling thread.
+         *
+         * @return the current worker.
+         * @throws IllegalStateException if the calling thread is not a worker
+         */
+        private static Worker currentWorker() {
+            if (Thread.currentThread() instanceof Worker) {
+                return (Worker) Thread.currentThread();
+            }
+            throw new IllegalStateException("Tasks can only be forked and joined inside a task.");
+        }
+    }
+
+    /**
+     * A worker thread with its own stack of tasks.
+     */
+    private final class Worker extends Thread {
+        /** The tasks forked on this worker. */
+        private final WorkStealingStack<Task<?>> deque = new WorkStealingStack<>();
+
+        /**
+         * Constructs a worker.
+         *
+         * @param index the position of the worker in the workers array
+         */
+        private Worker(int index) {
+            super("work-stealing-worker-" + index);
+            setDaemon(true);
+        }
+
+        /**
+         * Runs tasks until the scheduler is closed, sleeping briefly whenever there are none.
+         */
+        @Override
+        public void run() {
+            while (running) {
+                Task<?> task = findTask();
+                if (task != null) {
+                    task.run();
+                } else {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Takes the next task to run: the newest of this worker's own, else a submitted one,
+         * else the oldest of another worker's.
+         *
+         * @return a task, or null if none was found.
+         */
+        private Task<?> findTask() {
+            Task<?> task = deque.poll();
+            if (task == null) {
+                task = submissions.poll();
+            }
+            if (task == null) {
+                task = steal();
+            }
+            return task;
+        }
+
+        /**
+         * Tries to steal a task from each other worker once, starting at a random one.
+         *
+         * @return a stolen task, or null if none was found.
+         */
+        private Task<?> steal() {
+            int start = ThreadLocalRandom.current().nextInt(workers.length);
+            for (int i = 0; i < workers.length; i++) {
+                Worker victim = workers[(start + i) % workers.length];
+                if (victim != this) {
+                    Task<?> task = victim.deque.steal();
+                    if (task != null) {
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
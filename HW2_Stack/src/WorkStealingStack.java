@@ -0,0 +1,208 @@
+import java.util.EmptyStackException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A generic stack owned by one thread, from whose bottom other threads can steal.
+ * Follows LIFO (Last In First Out) principle for the owner, with the same operations as MyStack.
+ * <p>
+ * This is a Chase-Lev work-stealing deque. The elements sit in a circular array between a bottom
+ * index and a top index. Only the owning thread moves the top, so push and pop are a few plain
+ * array accesses and a volatile write, with no compare-and-set. Other threads call
+ * {@link #steal()}, which takes the oldest element by moving the bottom with a compare-and-set.
+ * The owner and a thief only compete for the last element, and the compare-and-set decides who
+ * gets it. When the array is full the owner copies the elements into one twice as large; thieves
+ * still holding the old array read the same elements there.
+ * A stolen element stays in its slot until the owner pushes over it, as in the classic
+ * algorithm, so it can be kept from the garbage collector until then.
+ * </p>
+ * <p>
+ * Only the owning thread may call push, pop, poll and top. Any thread may call steal, isEmpty,
+ * size and toString. Null elements are not allowed, since poll and steal return null when they
+ * find nothing.
+ * </p>
+ *
+ * @param <T> the type of elements stored in the stack
+ */
+public class WorkStealingStack<T> {
+    /** The size of the array of a new stack; always a power of two. */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** The circular array of elements; slot i holds the element at index i modulo its length. */
+    private volatile AtomicReferenceArray<T> array = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /** The index one past the newest element, moved only by the owner. */
+    private volatile long top;
+
+    /** The index of the oldest element, moved by thieves and by the owner's last pop. */
+    private final AtomicLong bottom = new AtomicLong();
+
+    /**
+     * Pushes an element onto the top of the stack making it the newest element in the stack.
+     * Only the owning thread may call this.
+     *
+     * @param element the element to push onto the stack
+     * @throws NullPointerException if the element is null
+     */
+    public void push(T element) {
+        Objects.requireNonNull(element);
+        long t = top;
+        long b = bottom.get();
+        AtomicReferenceArray<T> elements = array;
+        if (t - b >= elements.length()) {
+            elements = grow(elements, b, t);
+        }
+        elements.set(slot(elements, t), element);
+        top = t + 1;
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack. This element is the most recently
+     * added element. Only the owning thread may call this.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty, or a thief took the last element.
+     */
+    public T pop() {
+        T element = poll();
+        if (element == null) {
+            throw new EmptyStackException();
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the element at the top of the stack, like pop, but returns null
+     * instead of throwing when there is none. Only the owning thread may call this.
+     *
+     * @return the element at the top of the stack, or null if the stack is empty.
+     */
+    public T poll() {
+        long t = top - 1;
+        AtomicReferenceArray<T> elements = array;
+        // Claim the slot before reading the bottom, so a thief that reads the old top loses
+        top = t;
+        long b = bottom.get();
+        if (t < b) {
+            top = b;
+            return null;
+        }
+        int slot = slot(elements, t);
+        T element = elements.get(slot);
+        if (t > b) {
+            // No thief can reach this slot, so the owner can let go of the element
+            elements.set(slot, null);
+            return element;
+        }
+        // The last element: race the thieves for it
+        boolean won = bottom.compareAndSet(b, b + 1);
+        top = b + 1;
+        if (!won) {
+            return null;
+        }
+        elements.set(slot, null);
+        return element;
+    }
+
+    /**
+     * Returns the element at the top of the stack without removing that element.
+     * Only the owning thread may call this. A thief may take the element if it is the last one.
+     *
+     * @return the element at the top of the stack.
+     * @throws EmptyStackException if stack is empty.
+     */
+    public T top() {
+        long t = top - 1;
+        if (t < bottom.get()) {
+            throw new EmptyStackException();
+        }
+        AtomicReferenceArray<T> elements = array;
+        return elements.get(slot(elements, t));
+    }
+
+    /**
+     * Removes and returns the element at the bottom of the stack. This element is the least
+     * recently added element. Any thread may call this.
+     *
+     * @return the element at the bottom of the stack, or null if the stack is empty or another
+     *         thread took the element first.
+     */
+    public T steal() {
+        long b = bottom.get();
+        long t = top;
+        if (b >= t) {
+            return null;
+        }
+        AtomicReferenceArray<T> elements = array;
+        T element = elements.get(slot(elements, b));
+        // The slot is left as is: once the bottom moves, the owner may already be pushing into it,
+        // possibly the very same element, so clearing it here could lose a live element
+        return bottom.compareAndSet(b, b + 1) ? element : null;
+    }
+
+    /**
+     * Checks if stack is empty.
+     *
+     * @return true if the stack is empty and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack. Another thread may change it at any time.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        long b = bottom.get();
+        return (int) Math.max(0, top - b);
+    }
+
+    /**
+     * Returns a string representing the stack's elements like so: "Stack: element1 element2..."
+     * While other threads change the stack, the elements listed may not all be there at once.
+     *
+     * @return a string representing the stack's elements. Each element is separated by a space.
+     */
+    @Override
+    public String toString() {
+        long b = bottom.get();
+        long t = top;
+        AtomicReferenceArray<T> elements = array;
+        StringBuilder sb = new StringBuilder("Stack: ");
+        for (long i = b; i < t; i++) {
+            sb.append(elements.get(slot(elements, i))).append(" ");
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Copies the elements into an array twice as large and publishes it. Called by the owner.
+     *
+     * @param elements the full array
+     * @param b the bottom index
+     * @param t the top index
+     * @return the new array
+     */
+    private AtomicReferenceArray<T> grow(AtomicReferenceArray<T> elements, long b, long t) {
+        AtomicReferenceArray<T> larger = new AtomicReferenceArray<>(elements.length() * 2);
+        for (long i = b; i < t; i++) {
+            larger.set(slot(larger, i), elements.get(slot(elements, i)));
+        }
+        array = larger;
+        return larger;
+    }
+
+    /**
+     * Returns the slot of an array holding the element at an index.
+     *
+     * @param elements the array, whose length is a power of two
+     * @param index the index of the element
+     * @return the slot number
+     */
+    private static int slot(AtomicReferenceArray<?> elements, long index) {
+        return (int) index & (elements.length() - 1);
+    }
+}
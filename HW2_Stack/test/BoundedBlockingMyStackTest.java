@@ -0,0 +1,194 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for BoundedBlockingMyStack implementation.
+ * Checks the MyStack contract, the timeouts and batches on one thread, then producers and
+ * consumers on many threads.
+ */
+public class BoundedBlockingMyStackTest {
+
+    private BoundedBlockingMyStack<String> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new BoundedBlockingMyStack<>(3);
+    }
+
+    /**
+     * Tests push, pop and top with String data type.
+     */
+    @Test
+    void testPushPopTop() throws InterruptedException {
+        stack.push("Hello");
+        stack.push("World");
+        assertEquals("Stack: Hello World", stack.toString());
+        assertEquals("World", stack.top());
+        assertEquals("World", stack.pop());
+        assertEquals("Stack: Hello", stack.toString());
+        assertEquals(1, stack.size());
+        assertEquals(2, stack.remainingCapacity());
+    }
+
+    /**
+     * Tests top on an empty stack, null elements and an invalid capacity.
+     */
+    @Test
+    void testEmptyAndInvalid() {
+        assertTrue(stack.isEmpty());
+        assertEquals("Stack:", stack.toString());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+        assertThrows(NullPointerException.class, () -> stack.push(null));
+        assertThrows(NullPointerException.class, () -> stack.pushAll(List.of("a", "b", null)));
+        assertTrue(stack.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedBlockingMyStack<String>(0));
+    }
+
+    /**
+     * Tests that the timed push and pop give up on a full or empty stack.
+     */
+    @Test
+    void testTimeouts() throws InterruptedException {
+        assertNull(stack.pop(10, TimeUnit.MILLISECONDS));
+        assertTrue(stack.push("a", 0, TimeUnit.MILLISECONDS));
+        assertTrue(stack.push("b", 0, TimeUnit.MILLISECONDS));
+        assertTrue(stack.push("c", 0, TimeUnit.MILLISECONDS));
+        assertFalse(stack.push("d", 10, TimeUnit.MILLISECONDS));
+        assertEquals("Stack: a b c", stack.toString());
+        assertEquals("c", stack.pop(0, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Tests that drainTo moves elements newest first and respects the limit.
+     */
+    @Test
+    void testDrainTo() throws InterruptedException {
+        stack.pushAll(List.of("a", "b", "c"));
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, stack.drainTo(drained, 2));
+        assertEquals(List.of("c", "b"), drained);
+        assertEquals(1, stack.drainTo(drained));
+        assertEquals(List.of("c", "b", "a"), drained);
+        assertEquals(0, stack.drainTo(drained));
+        assertTrue(stack.isEmpty());
+    }
+
+    /**
+     * Tests that a blocked push finishes once another thread pops.
+     */
+    @Test
+    void testPushWaitsForPop() throws InterruptedException {
+        stack.pushAll(List.of("a", "b", "c"));
+        Thread pusher = new Thread(() -> {
+            try {
+                stack.push("d");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pusher.start();
+        assertEquals("c", stack.pop());
+        pusher.join(5_000);
+        assertFalse(pusher.isAlive());
+        assertEquals("Stack: a b d", stack.toString());
+    }
+
+    /**
+     * Tests that a pushAll larger than the capacity finishes while another thread drains.
+     */
+    @Test
+    void testPushAllLargerThanCapacity() throws InterruptedException {
+        List<String> batch = List.of("1", "2", "3", "4", "5", "6", "7");
+        Thread producer = new Thread(() -> {
+            try {
+                stack.pushAll(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        List<String> drained = new ArrayList<>();
+        while (drained.size() < batch.size()) {
+            String element = stack.pop(5, TimeUnit.SECONDS);
+            assertNotNull(element);
+            drained.add(element);
+        }
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+        drained.sort(null);
+        assertEquals(batch, drained);
+    }
+
+    /**
+     * Tests that a thread waiting on an empty stack can be interrupted.
+     */
+    @Test
+    void testInterruptedPop() throws InterruptedException {
+        boolean[] interrupted = new boolean[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                stack.pop();
+            } catch (InterruptedException e) {
+                interrupted[0] = true;
+            }
+        });
+        consumer.start();
+        consumer.interrupt();
+        consumer.join(5_000);
+        assertTrue(interrupted[0]);
+    }
+
+    /**
+     * Tests that every element pushed by producer threads is popped exactly once by consumer
+     * threads.
+     */
+    @Test
+    void testProducersAndConsumers() throws InterruptedException {
+        BoundedBlockingMyStack<Integer> shared = new BoundedBlockingMyStack<>(16);
+        int producers = 4;
+        int perProducer = 5_000;
+        ConcurrentLinkedQueue<Integer> popped = new ConcurrentLinkedQueue<>();
+        Thread[] threads = new Thread[producers * 2];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        shared.push(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[producers + p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        popped.add(shared.pop());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertFalse(thread.isAlive());
+        }
+        assertTrue(shared.isEmpty());
+        assertEquals(producers * perProducer, popped.size());
+        boolean[] seen = new boolean[producers * perProducer];
+        for (int value : popped) {
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+}
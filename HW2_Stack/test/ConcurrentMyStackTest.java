@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.EmptyStackException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Test class for ConcurrentMyStack implementation.
+ * Checks the MyStack contract on one thread, then pushes and pops from many threads at once.
+ */
+public class ConcurrentMyStackTest {
+
+    private ConcurrentMyStack<String> stringStack;
+    private ConcurrentMyStack<Book> bookStack;
+
+    @BeforeEach
+    void setUp() {
+        stringStack = new ConcurrentMyStack<>();
+        bookStack = new ConcurrentMyStack<>();
+    }
+
+    /**
+     * Tests push and pop with String data type.
+     */
+    @Test
+    void testPushPopString() {
+        stringStack.push("Hello");
+        stringStack.push("World");
+        assertEquals("Stack: Hello World", stringStack.toString());
+        assertEquals("World", stringStack.pop());
+        assertEquals("Stack: Hello", stringStack.toString());
+    }
+
+    /**
+     * Tests top operation with Book objects.
+     */
+    @Test
+    void testTopBook() {
+        Book book1 = new Book("Book1");
+        Book book2 = new Book("Book2");
+        bookStack.push(book1);
+        bookStack.push(book2);
+        assertEquals(book2, bookStack.top());
+        assertEquals("Stack: Book1 Book2", bookStack.toString());
+        assertEquals(book2, bookStack.top()); // Verify top doesn't change stack
+    }
+
+    /**
+     * Tests pop and top operations with empty stack.
+     */
+    @Test
+    void testEmpty() {
+        assertTrue(stringStack.isEmpty());
+        assertEquals("Stack:", stringStack.toString());
+        assertThrows(EmptyStackException.class, () -> stringStack.pop());
+        assertThrows(EmptyStackException.class, () -> stringStack.top());
+        stringStack.push(null);
+        assertFalse(stringStack.isEmpty());
+        assertNull(stringStack.pop());
+        assertTrue(stringStack.isEmpty());
+    }
+
+    /**
+     * Tests creating a stack with an invalid elimination array size.
+     */
+    @Test
+    void testInvalidEliminationSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentMyStack<String>(0));
+    }
+
+    /**
+     * Tests that every element pushed by many threads is popped exactly once.
+     */
+    @Test
+    void testConcurrentPushPop() throws InterruptedException {
+        ConcurrentMyStack<Integer> stack = new ConcurrentMyStack<>(4);
+        int threads = 8;
+        int perThread = 20_000;
+        ConcurrentLinkedQueue<Integer> popped = new ConcurrentLinkedQueue<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    stack.push(first + i);
+                    popped.add(stack.pop()); // Never empty: this thread's push came first
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        while (!stack.isEmpty()) {
+            popped.add(stack.pop());
+        }
+        boolean[] seen = new boolean[threads * perThread];
+        for (int value : popped) {
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+        assertEquals(threads * perThread, popped.size());
+    }
+}
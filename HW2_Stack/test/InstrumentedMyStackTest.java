@@ -0,0 +1,126 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test class for InstrumentedMyStack implementation.
+ * Checks the counters and depths, then reads them over JMX and from a flight recording.
+ */
+public class InstrumentedMyStackTest {
+
+    private InstrumentedMyStack<String> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new InstrumentedMyStack<>();
+    }
+
+    /**
+     * Tests that push, pop and top are counted, and failed calls are not.
+     */
+    @Test
+    void testCounts() {
+        stack.push("a");
+        stack.pushAll(List.of("b", "c"));
+        stack.top();
+        stack.pop();
+        stack.popN(2, new String[2]);
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+        assertEquals(3, stack.getPushCount());
+        assertEquals(3, stack.getPopCount());
+        assertEquals(1, stack.getTopCount());
+        assertEquals("Stack:", stack.toString());
+    }
+
+    /**
+     * Tests the current and high-water depth, and resetting the mark.
+     */
+    @Test
+    void testDepths() {
+        stack.pushAll(List.of("a", "b", "c", "d"));
+        stack.pop();
+        stack.pop();
+        assertEquals(2, stack.getDepth());
+        assertEquals(4, stack.getHighWaterDepth());
+        stack.resetHighWaterDepth();
+        assertEquals(2, stack.getHighWaterDepth());
+        stack.push("e");
+        assertEquals(3, stack.getHighWaterDepth());
+    }
+
+    /**
+     * Tests that the resize count follows ArrayList's growth: 10, 15, 22, 33 elements.
+     */
+    @Test
+    void testResizeCount() {
+        assertEquals(0, stack.getResizeCount());
+        stack.push("x");
+        assertEquals(1, stack.getResizeCount());
+        for (int i = 1; i < 22; i++) {
+            stack.push("x");
+        }
+        assertEquals(3, stack.getResizeCount());
+        stack.push("x");
+        assertEquals(4, stack.getResizeCount());
+        while (!stack.isEmpty()) {
+            stack.pop();
+        }
+        stack.pushAll(List.of("a", "b"));
+        assertEquals(4, stack.getResizeCount());
+    }
+
+    /**
+     * Tests reading the metrics over JMX, and registering and unregistering.
+     */
+    @Test
+    void testJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = stack.register("jmx-test");
+        try {
+            stack.push("a");
+            stack.push("b");
+            assertEquals(2L, server.getAttribute(name, "PushCount"));
+            assertEquals(2, server.getAttribute(name, "HighWaterDepth"));
+            assertThrows(IllegalStateException.class, () -> stack.register("again"));
+        } finally {
+            stack.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+        stack.unregister();
+    }
+
+    /**
+     * Tests that a flight recording receives a high-water event at each power of two.
+     */
+    @Test
+    void testHighWaterEvents() throws Exception {
+        Path file = Files.createTempFile("mystack", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("mystack.HighWater");
+            recording.start();
+            for (int i = 0; i < 100; i++) {
+                stack.push("x");
+            }
+            recording.stop();
+            recording.dump(file);
+            List<Integer> depths = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("mystack.HighWater"))
+                    .map(event -> event.getInt("depth"))
+                    .collect(Collectors.toList());
+            assertEquals(List.of(1, 2, 4, 8, 16, 32, 64), depths);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.EmptyStackException;
+
+/**
+ * Test class for LongStack implementation.
+ */
+public class LongStackTest {
+
+    private LongStack stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new LongStack();
+    }
+
+    /**
+     * Tests push operation.
+     */
+    @Test
+    void testPush() {
+        stack.push(1);
+        assertEquals("Stack: 1", stack.toString());
+        stack.push(-2L * Integer.MAX_VALUE);
+        assertEquals("Stack: 1 -4294967294", stack.toString());
+        assertFalse(stack.isEmpty());
+    }
+
+    /**
+     * Tests pop operation, including past the initial capacity.
+     */
+    @Test
+    void testPop() {
+        for (int i = 0; i < 100; i++) {
+            stack.push(i);
+        }
+        assertEquals(100, stack.size());
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    /**
+     * Tests top operation.
+     */
+    @Test
+    void testTop() {
+        stack.push(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, stack.top());
+        assertEquals(Long.MAX_VALUE, stack.top()); // Verify top doesn't change stack
+        assertEquals(1, stack.size());
+    }
+
+    /**
+     * Tests operations with empty stack.
+     */
+    @Test
+    void testEmpty() {
+        assertEquals("Stack:", stack.toString());
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+        assertThrows(IllegalArgumentException.class, () -> new LongStack(-1));
+        LongStack zero = new LongStack(0);
+        zero.push(5);
+        assertEquals(5, zero.pop());
+    }
+}
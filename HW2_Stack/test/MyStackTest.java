@@ -1,7 +1,13 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.EmptyStackException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Test class for MyStack implementation.
@@ -174,4 +180,147 @@ public class MyStackTest {
         bookStack.pop();
         assertTrue(bookStack.isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a snapshot keeps the elements while the stack changes, in both modes.
+     */
+    @Test
+    void testSnapshot() {
+        for (MyStack<String> stack : List.of(stringStack, MyStack.<String>persistent())) {
+            stack.push("a");
+            stack.push("b");
+            PersistentStack<String> before = stack.snapshot();
+            stack.pop();
+            stack.push("c");
+            stack.push("d");
+            assertEquals("Stack: a b", before.toString());
+            assertEquals("b", before.top());
+            assertEquals("Stack: a c d", stack.toString());
+            assertEquals("Stack: a c d", stack.snapshot().toString());
+        }
+    }
+
+    /**
+     * Tests push, pop, top and empty operations in persistent mode.
+     */
+    @Test
+    void testPersistentMode() {
+        MyStack<Integer> stack = MyStack.persistent();
+        assertTrue(stack.isEmpty());
+        assertEquals("Stack:", stack.toString());
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+        stack.push(1);
+        stack.push(2);
+        assertEquals(2, stack.top());
+        assertEquals(2, stack.pop());
+        assertEquals("Stack: 1", stack.toString());
+        assertSame(stack.snapshot(), stack.snapshot());
+    }
+
+    /**
+     * Tests pushAll with a collection and an array, in both modes.
+     */
+    @Test
+    void testPushAll() {
+        for (MyStack<String> stack : List.of(stringStack, MyStack.<String>persistent())) {
+            stack.pushAll(List.of("a", "b"));
+            stack.pushAll(new String[] {"c", "d"});
+            assertEquals("Stack: a b c d", stack.toString());
+            assertEquals(4, stack.size());
+            assertEquals("d", stack.top());
+        }
+    }
+
+    /**
+     * Tests popN, including asking for more elements than the stack holds, in both modes.
+     */
+    @Test
+    void testPopN() {
+        for (MyStack<Integer> stack : List.of(intStack, MyStack.<Integer>persistent())) {
+            stack.pushAll(List.of(1, 2, 3, 4));
+            Integer[] dest = new Integer[3];
+            stack.popN(3, dest);
+            assertArrayEquals(new Integer[] {4, 3, 2}, dest);
+            assertEquals("Stack: 1", stack.toString());
+            assertThrows(EmptyStackException.class, () -> stack.popN(2, dest));
+            assertEquals("Stack: 1", stack.toString());
+            assertThrows(IndexOutOfBoundsException.class, () -> stack.popN(4, dest));
+            assertThrows(IllegalArgumentException.class, () -> stack.popN(-1, dest));
+            stack.popN(0, dest);
+            assertEquals(1, stack.size());
+        }
+    }
+
+    /**
+     * Tests that forEach visits the elements from the top down without changing the stack.
+     */
+    @Test
+    void testForEachTopDown() {
+        for (MyStack<Character> stack : List.of(charStack, MyStack.<Character>persistent())) {
+            stack.pushAll(List.of('a', 'b', 'c'));
+            StringBuilder visited = new StringBuilder();
+            stack.forEach(visited::append);
+            assertEquals("cba", visited.toString());
+            assertEquals("Stack: a b c", stack.toString());
+        }
+    }
+
+    /**
+     * Tests the spliterator with sequential and parallel streams, in both modes.
+     */
+    @Test
+    void testSpliterator() {
+        for (MyStack<Integer> stack : List.of(intStack, MyStack.<Integer>persistent())) {
+            stack.pushAll(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+            List<Integer> topDown = new ArrayList<>();
+            stack.spliterator().forEachRemaining(topDown::add);
+            assertEquals(9_999, topDown.get(0));
+            assertEquals(0, topDown.get(9_999));
+            assertEquals(topDown, StreamSupport.stream(stack.spliterator(), true)
+                    .collect(Collectors.toList()));
+            assertEquals(49_995_000L, StreamSupport.stream(stack.spliterator(), true)
+                    .mapToLong(Integer::longValue).sum());
+        }
+    }
+
+    /**
+     * Tests that writeTo writes the same text as toString.
+     */
+    @Test
+    void testWriteTo() throws IOException {
+        for (MyStack<Book> stack : List.of(bookStack, MyStack.<Book>persistent())) {
+            StringBuilder out = new StringBuilder();
+            stack.writeTo(out);
+            assertEquals("Stack:", out.toString());
+            stack.push(new Book("Harry Potter 1"));
+            stack.push(new Book("Harry Potter 2"));
+            out.setLength(0);
+            stack.writeTo(out);
+            assertEquals("Stack: Harry Potter 1 Harry Potter 2", out.toString());
+            assertEquals(out.toString(), stack.toString());
+        }
+    }
+
+    /**
+     * Tests that writeTo keeps the order of a large stack in persistent mode, and that toString
+     * trims an element that ends in whitespace like the original output did, in both modes.
+     */
+    @Test
+    void testWriteToLargeAndTrailingWhitespace() throws IOException {
+        MyStack<Integer> large = MyStack.persistent();
+        large.pushAll(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+        StringBuilder out = new StringBuilder();
+        large.writeTo(out);
+        assertEquals(IntStream.range(0, 10_000).mapToObj(String::valueOf)
+                .collect(Collectors.joining(" ", "Stack: ", "")), out.toString());
+        for (MyStack<String> stack : List.of(stringStack, MyStack.<String>persistent())) {
+            stack.push("a");
+            stack.push("");
+            assertEquals("Stack: a", stack.toString());
+            out.setLength(0);
+            stack.writeTo(out);
+            assertEquals("Stack: a ", out.toString());
+        }
+    }
+}
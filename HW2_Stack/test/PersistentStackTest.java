@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for PersistentStack implementation.
+ * Checks that every version of a stack stays unchanged by pushes and pops on the others.
+ */
+public class PersistentStackTest {
+
+    /**
+     * Tests push, top and toString.
+     */
+    @Test
+    void testPushTop() {
+        PersistentStack<String> stack = PersistentStack.<String>empty().push("Hello").push("World");
+        assertEquals("World", stack.top());
+        assertEquals(2, stack.size());
+        assertEquals("Stack: Hello World", stack.toString());
+    }
+
+    /**
+     * Tests pop and top on an empty stack.
+     */
+    @Test
+    void testEmpty() {
+        PersistentStack<String> empty = PersistentStack.empty();
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertEquals("Stack:", empty.toString());
+        assertThrows(EmptyStackException.class, () -> empty.pop());
+        assertThrows(EmptyStackException.class, () -> empty.top());
+        assertSame(empty, empty.push("a").pop());
+    }
+
+    /**
+     * Tests that older versions are not changed by pushes and pops on newer ones.
+     */
+    @Test
+    void testVersionsAreIndependent() {
+        PersistentStack<Integer> one = PersistentStack.<Integer>empty().push(1);
+        PersistentStack<Integer> two = one.push(2);
+        PersistentStack<Integer> three = one.push(3);
+        assertEquals("Stack: 1", one.toString());
+        assertEquals("Stack: 1 2", two.toString());
+        assertEquals("Stack: 1 3", three.toString());
+        assertEquals("Stack: 1", two.pop().toString());
+        assertEquals(2, two.top());
+        assertEquals(1, one.size());
+    }
+
+    /**
+     * Tests that null elements are kept like any other.
+     */
+    @Test
+    void testNullElement() {
+        PersistentStack<Book> stack = PersistentStack.<Book>empty().push(null);
+        assertFalse(stack.isEmpty());
+        assertNull(stack.top());
+        assertEquals("Stack: null", stack.toString());
+    }
+
+    /**
+     * Tests that forEachFromBottom visits the elements from the bottom up, for sizes whose square
+     * roots do and do not divide them.
+     */
+    @Test
+    void testForEachFromBottom() {
+        PersistentStack<Integer> stack = PersistentStack.empty();
+        for (int size = 0; size <= 50; size++) {
+            List<Integer> visited = new ArrayList<>();
+            stack.forEachFromBottom(visited::add);
+            assertEquals(IntStream.range(0, size).boxed().collect(Collectors.toList()), visited);
+            stack = stack.push(size);
+        }
+    }
+}
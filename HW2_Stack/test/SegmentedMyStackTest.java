@@ -0,0 +1,144 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.EmptyStackException;
+
+/**
+ * Test class for SegmentedMyStack implementation.
+ * Uses chunks of 4 elements so that a few pushes cross chunk boundaries.
+ */
+public class SegmentedMyStackTest {
+
+    private SegmentedMyStack<Integer> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new SegmentedMyStack<>(4, 2, 6);
+    }
+
+    /**
+     * Tests push, top and toString across chunk boundaries.
+     */
+    @Test
+    void testPushAcrossChunks() {
+        for (int i = 1; i <= 9; i++) {
+            stack.push(i);
+        }
+        assertEquals("Stack: 1 2 3 4 5 6 7 8 9", stack.toString());
+        assertEquals(9, stack.top());
+        assertEquals(3, stack.usedChunks());
+    }
+
+    /**
+     * Tests pop across chunk boundaries and on an empty stack.
+     */
+    @Test
+    void testPopAcrossChunks() {
+        for (int i = 1; i <= 9; i++) {
+            stack.push(i);
+        }
+        for (int i = 9; i >= 1; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+        assertEquals("Stack:", stack.toString());
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+    }
+
+    /**
+     * Tests that emptied chunks are pooled up to the pool size and reused.
+     */
+    @Test
+    void testPoolIsBoundedAndReused() {
+        SegmentedMyStack<Integer> deep = new SegmentedMyStack<>(4, 2, 0);
+        for (int i = 0; i < 20; i++) {
+            deep.push(i);
+        }
+        assertEquals(5, deep.usedChunks());
+        for (int i = 0; i < 16; i++) {
+            deep.pop();
+        }
+        assertEquals(1, deep.usedChunks());
+        assertEquals(2, deep.pooledChunks());
+        deep.push(4);
+        assertEquals(1, deep.pooledChunks()); // A pooled chunk was taken
+    }
+
+    /**
+     * Tests that the pool is released once the depth drops below the watermark.
+     */
+    @Test
+    void testReleaseBelowWatermark() {
+        for (int i = 0; i < 12; i++) {
+            stack.push(i);
+        }
+        for (int i = 0; i < 5; i++) {
+            stack.pop();
+        }
+        assertEquals(7, stack.size());
+        assertEquals(1, stack.pooledChunks());
+        stack.pop();
+        stack.pop();
+        assertEquals(0, stack.pooledChunks());
+        assertEquals(2, stack.usedChunks());
+    }
+
+    /**
+     * Tests creating a stack with invalid settings.
+     */
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedMyStack<String>(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedMyStack<String>(1, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedMyStack<String>(1, 1, -1));
+    }
+
+    /**
+     * Tests that pushing and popping across the chunk boundary at the default watermark reuses
+     * the pooled chunk instead of releasing and allocating it each time.
+     */
+    @Test
+    void testNoThrashAtDefaultWatermark() {
+        SegmentedMyStack<Integer> defaults = new SegmentedMyStack<>();
+        for (int i = 0; i < 1025; i++) {
+            defaults.push(i);
+        }
+        for (int cycle = 0; cycle < 100; cycle++) {
+            defaults.pop();
+            defaults.pop();
+            assertEquals(1023, defaults.size());
+            assertEquals(1, defaults.pooledChunks());
+            defaults.push(1023);
+            defaults.push(1024);
+            assertEquals(0, defaults.pooledChunks()); // The pooled chunk was reused
+            assertEquals(2, defaults.usedChunks());
+        }
+    }
+
+    /**
+     * Tests that after a spike the pool is released once when the depth drops below the
+     * watermark, and then reused while the depth stays around it.
+     */
+    @Test
+    void testReleaseOncePerSpike() {
+        for (int i = 0; i < 12; i++) {
+            stack.push(i);
+        }
+        while (stack.size() > 5) {
+            stack.pop();
+        }
+        assertEquals(0, stack.pooledChunks());
+        for (int cycle = 0; cycle < 10; cycle++) {
+            stack.push(5);
+            stack.push(6);
+            stack.push(7);
+            stack.push(8);
+            stack.pop();
+            stack.pop();
+            stack.pop();
+            stack.pop();
+            assertEquals(1, stack.pooledChunks());
+        }
+    }
+}
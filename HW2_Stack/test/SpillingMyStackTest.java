@@ -0,0 +1,173 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EmptyStackException;
+
+/**
+ * Test class for SpillingMyStack implementation.
+ * Keeps 4 books on the heap so that a few pushes spill segments of 2 books to the file.
+ */
+public class SpillingMyStackTest {
+
+    private SpillingMyStack<Book> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new SpillingMyStack<>(new BookCodec(), 4, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stack.close();
+    }
+
+    /**
+     * Tests push, top and toString across spills.
+     */
+    @Test
+    void testPushSpills() {
+        for (int i = 1; i <= 9; i++) {
+            stack.push(new Book("B" + i));
+        }
+        assertEquals(9, stack.size());
+        assertEquals(3, stack.spilledSegments());
+        assertEquals("B9", stack.top().getTitle());
+        assertEquals("Stack: B1 B2 B3 B4 B5 B6 B7 B8 B9", stack.toString());
+    }
+
+    /**
+     * Tests that pop reads spilled books back in order, then fails on an empty stack.
+     */
+    @Test
+    void testPopReadsBack() {
+        for (int i = 1; i <= 9; i++) {
+            stack.push(new Book("B" + i));
+        }
+        for (int i = 9; i >= 1; i--) {
+            assertEquals("B" + i, stack.pop().getTitle());
+        }
+        assertTrue(stack.isEmpty());
+        assertEquals(0, stack.spilledSegments());
+        assertEquals("Stack:", stack.toString());
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+    }
+
+    /**
+     * Tests a deep stack whose segments cross mapped regions, with pops and pushes in between.
+     */
+    @Test
+    void testDeepStackAcrossRegions() {
+        SpillingMyStack<Book> deep = new SpillingMyStack<>(new BookCodec(), 1024, null);
+        String padding = "x".repeat(200);
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            deep.push(new Book(padding + i));
+        }
+        assertTrue(Files.exists(deep.spillFile()));
+        for (int i = count - 1; i >= count / 2; i--) {
+            assertEquals(padding + i, deep.pop().getTitle());
+        }
+        deep.push(new Book("again"));
+        assertEquals("again", deep.pop().getTitle());
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            assertEquals(padding + i, deep.pop().getTitle());
+        }
+        assertTrue(deep.isEmpty());
+        Path file = deep.spillFile();
+        deep.close();
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Tests null books and titles, a small stack that never spills, and a closed stack.
+     */
+    @Test
+    void testNullsAndClose() {
+        stack.push(null);
+        stack.push(new Book(null));
+        for (int i = 0; i < 4; i++) {
+            stack.push(new Book("B" + i));
+        }
+        assertEquals("Stack: null null B0 B1 B2 B3", stack.toString());
+        SpillingMyStack<Book> small = new SpillingMyStack<>(new BookCodec());
+        small.push(new Book("only"));
+        assertNull(small.spillFile());
+        small.close();
+        assertThrows(IllegalStateException.class, () -> small.push(new Book("late")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpillingMyStack<>(new BookCodec(), 1, null));
+    }
+
+    /**
+     * Tests that BookCodec reads back what it writes and rejects other bytes.
+     */
+    @Test
+    void testBookCodec() throws IOException {
+        BookCodec codec = new BookCodec();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        codec.write(new Book("Harry Potter 1"), out);
+        codec.write(null, out);
+        codec.write(new Book(null), out);
+        out.writeByte(7);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("Harry Potter 1", codec.read(in).getTitle());
+        assertNull(codec.read(in));
+        assertNull(codec.read(in).getTitle());
+        assertThrows(IOException.class, () -> codec.read(in));
+    }
+
+    /**
+     * Tests that titles longer than 65535 bytes in UTF-8 are spilled and read back.
+     */
+    @Test
+    void testLongTitle() {
+        String title = "\u00e9".repeat(40_000) + "end";
+        stack.push(new Book(title));
+        for (int i = 0; i < 4; i++) {
+            stack.push(new Book("B" + i));
+        }
+        assertEquals(1, stack.spilledSegments());
+        for (int i = 3; i >= 0; i--) {
+            assertEquals("B" + i, stack.pop().getTitle());
+        }
+        assertEquals(title, stack.pop().getTitle());
+    }
+
+    /**
+     * Tests that the spill file of a stack that is never closed is deleted once the stack is
+     * unreachable.
+     */
+    @Test
+    void testUnclosedStackFileDeleted() throws InterruptedException {
+        Path file = spillAndDrop();
+        for (int attempt = 0; attempt < 100 && Files.exists(file); attempt++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Fills a stack past its heap capacity and lets go of it without closing it.
+     *
+     * @return the spill file of the stack.
+     */
+    private static Path spillAndDrop() {
+        SpillingMyStack<Book> dropped = new SpillingMyStack<>(new BookCodec(), 4, null);
+        for (int i = 0; i < 6; i++) {
+            dropped.push(new Book("B" + i));
+        }
+        assertTrue(Files.exists(dropped.spillFile()));
+        return dropped.spillFile();
+    }
+}
@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for WorkStealingScheduler implementation.
+ * Runs recursive tasks that fork and join many subtasks.
+ */
+public class WorkStealingSchedulerTest {
+
+    private WorkStealingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new WorkStealingScheduler(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    /**
+     * Computes a Fibonacci number by forking one half and computing the other.
+     */
+    private static final class Fibonacci extends WorkStealingScheduler.Task<Integer> {
+        private final int n;
+
+        Fibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (n < 2) {
+                return n;
+            }
+            Fibonacci first = new Fibonacci(n - 1);
+            first.fork();
+            int second = new Fibonacci(n - 2).compute();
+            return first.join() + second;
+        }
+    }
+
+    /**
+     * Tests that a recursive task returns the right result.
+     */
+    @Test
+    void testRecursiveTask() {
+        assertEquals(6765, scheduler.invoke(new Fibonacci(20)));
+        assertEquals(832040, scheduler.invoke(new Fibonacci(30)));
+    }
+
+    /**
+     * Tests that an exception thrown by a subtask reaches the caller.
+     */
+    @Test
+    void testExceptionPropagates() {
+        WorkStealingScheduler.Task<Integer> failing = new WorkStealingScheduler.Task<>() {
+            @Override
+            protected Integer compute() {
+                WorkStealingScheduler.Task<Integer> child = new WorkStealingScheduler.Task<>() {
+                    @Override
+                    protected Integer compute() {
+                        throw new ArithmeticException("boom");
+                    }
+                };
+                child.fork();
+                return child.join();
+            }
+        };
+        assertThrows(ArithmeticException.class, () -> scheduler.invoke(failing));
+    }
+
+    /**
+     * Tests fork outside a task, an invalid parallelism and a closed scheduler.
+     */
+    @Test
+    void testInvalidUse() {
+        assertThrows(IllegalStateException.class, () -> new Fibonacci(3).fork());
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingScheduler(0));
+        assertEquals(4, scheduler.getParallelism());
+        scheduler.close();
+        assertThrows(IllegalStateException.class, () -> scheduler.invoke(new Fibonacci(3)));
+    }
+
+    /**
+     * Tests that closing the scheduler fails a submitted task that no worker has started, so the
+     * thread invoking it returns instead of waiting forever.
+     */
+    @Test
+    void testCloseFailsWaitingTask() throws InterruptedException {
+        WorkStealingScheduler single = new WorkStealingScheduler(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread busy = new Thread(() -> single.invoke(new WorkStealingScheduler.Task<Void>() {
+            @Override
+            protected Void compute() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+        }));
+        busy.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                single.invoke(new Fibonacci(3));
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        waiting.start();
+        while (waiting.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        Thread closer = new Thread(single::close);
+        closer.start();
+        waiting.join(10_000);
+        assertFalse(waiting.isAlive());
+        assertInstanceOf(IllegalStateException.class, thrown.get());
+        release.countDown();
+        closer.join(10_000);
+        busy.join(10_000);
+        assertFalse(closer.isAlive());
+        assertFalse(busy.isAlive());
+    }
+}
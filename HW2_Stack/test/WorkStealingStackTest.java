@@ -0,0 +1,175 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.EmptyStackException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for WorkStealingStack implementation.
+ * Checks the MyStack contract for the owner, stealing from the bottom, and an owner racing
+ * thieves.
+ */
+public class WorkStealingStackTest {
+
+    private WorkStealingStack<String> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new WorkStealingStack<>();
+    }
+
+    /**
+     * Tests push, pop and top by the owner.
+     */
+    @Test
+    void testPushPopTop() {
+        stack.push("Hello");
+        stack.push("World");
+        assertEquals("Stack: Hello World", stack.toString());
+        assertEquals("World", stack.top());
+        assertEquals("World", stack.pop());
+        assertEquals("Stack: Hello", stack.toString());
+        assertEquals(1, stack.size());
+    }
+
+    /**
+     * Tests pop, poll, top and steal on an empty stack, and null elements.
+     */
+    @Test
+    void testEmpty() {
+        assertTrue(stack.isEmpty());
+        assertEquals("Stack:", stack.toString());
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        assertThrows(EmptyStackException.class, () -> stack.top());
+        assertNull(stack.poll());
+        assertNull(stack.steal());
+        assertThrows(NullPointerException.class, () -> stack.push(null));
+        stack.push("a");
+        assertEquals("a", stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    /**
+     * Tests that steal takes the oldest element while pop takes the newest.
+     */
+    @Test
+    void testStealFromBottom() {
+        stack.push("a");
+        stack.push("b");
+        stack.push("c");
+        assertEquals("a", stack.steal());
+        assertEquals("c", stack.pop());
+        assertEquals("b", stack.steal());
+        assertNull(stack.steal());
+        assertTrue(stack.isEmpty());
+    }
+
+    /**
+     * Tests that the array grows past its initial size, including after wrapping around.
+     */
+    @Test
+    void testGrowAfterWrapping() {
+        WorkStealingStack<Integer> numbers = new WorkStealingStack<>();
+        for (int i = 0; i < 20; i++) {
+            numbers.push(i);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, numbers.steal());
+        }
+        for (int i = 0; i < 100; i++) {
+            numbers.push(i);
+        }
+        assertEquals(100, numbers.size());
+        assertEquals(0, numbers.steal());
+        for (int i = 99; i >= 1; i--) {
+            assertEquals(i, numbers.pop());
+        }
+        assertTrue(numbers.isEmpty());
+    }
+
+    /**
+     * Tests that every element pushed by the owner is taken exactly once, by the owner or by one
+     * of the thieves.
+     */
+    @Test
+    void testOwnerRacesThieves() throws InterruptedException {
+        WorkStealingStack<Integer> numbers = new WorkStealingStack<>();
+        int count = 200_000;
+        ConcurrentLinkedQueue<Integer> taken = new ConcurrentLinkedQueue<>();
+        AtomicBoolean ownerDone = new AtomicBoolean();
+        Thread[] thieves = new Thread[3];
+        for (int t = 0; t < thieves.length; t++) {
+            thieves[t] = new Thread(() -> {
+                while (!ownerDone.get() || !numbers.isEmpty()) {
+                    Integer value = numbers.steal();
+                    if (value != null) {
+                        taken.add(value);
+                    }
+                }
+            });
+            thieves[t].start();
+        }
+        for (int i = 0; i < count; i++) {
+            numbers.push(i);
+            if (i % 3 == 0) {
+                Integer value = numbers.poll();
+                if (value != null) {
+                    taken.add(value);
+                }
+            }
+        }
+        ownerDone.set(true);
+        for (Thread thief : thieves) {
+            thief.join(30_000);
+            assertFalse(thief.isAlive());
+        }
+        assertEquals(count, taken.size());
+        boolean[] seen = new boolean[count];
+        for (int value : taken) {
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+
+    /**
+     * Tests that pushing the same element many times, while thieves steal and the owner reuses
+     * the same few slots, never loses one of them.
+     */
+    @Test
+    void testDuplicateElementsRaceThieves() throws InterruptedException {
+        WorkStealingStack<String> tasks = new WorkStealingStack<>();
+        String task = "task";
+        int count = 200_000;
+        AtomicInteger stolen = new AtomicInteger();
+        AtomicBoolean ownerDone = new AtomicBoolean();
+        Thread[] thieves = new Thread[3];
+        for (int t = 0; t < thieves.length; t++) {
+            thieves[t] = new Thread(() -> {
+                while (!ownerDone.get() || !tasks.isEmpty()) {
+                    if (tasks.steal() != null) {
+                        stolen.incrementAndGet();
+                    }
+                }
+            });
+            thieves[t].start();
+        }
+        int polled = 0;
+        for (int i = 0; i < count; i++) {
+            tasks.push(task);
+            if (tasks.size() > 4 && tasks.poll() != null) {
+                polled++;
+            }
+        }
+        while (tasks.poll() != null) {
+            polled++;
+        }
+        ownerDone.set(true);
+        for (Thread thief : thieves) {
+            thief.join(30_000);
+            assertFalse(thief.isAlive());
+        }
+        assertEquals(count, polled + stolen.get());
+    }
+}
@@ -0,0 +1,149 @@
+package tictactoe.model;
+
+import tictactoe.Player;
+
+/**
+ * A Tic-Tac-Toe model that stores the board as two bitmasks, one for each player.
+ * <p>
+ * Each of the nine positions is one bit, numbered row by row: the position at row r and
+ * column c is bit {@code r * 3 + c}. A player's mask has a bit set for every position that
+ * player occupies. Since a board of one player's pieces is a number below 512, whether it holds
+ * a complete row, column or diagonal is precomputed for every such number once, so checking for
+ * a win after a move is a single table lookup. Every operation is a few bitwise operations on
+ * two ints and allocates nothing, which suits game-tree searches and simulations that play
+ * millions of moves.
+ * </p>
+ */
+public class BitboardTTTModel implements TTTModel {
+
+    /** The number of rows and columns of the board. */
+    private static final int SIZE = 3;
+
+    /** The mask with a bit set for every position on the board. */
+    private static final int FULL_BOARD = (1 << (SIZE * SIZE)) - 1;
+
+    /** The masks of the eight winning lines: three rows, three columns and two diagonals. */
+    private static final int[] WIN_MASKS = {
+        0b000_000_111, 0b000_111_000, 0b111_000_000,
+        0b001_001_001, 0b010_010_010, 0b100_100_100,
+        0b100_010_001, 0b001_010_100
+    };
+
+    /** Whether each possible mask of one player's pieces contains a winning line. */
+    private static final boolean[] WINNING = new boolean[FULL_BOARD + 1];
+
+    static {
+        for (int board = 0; board <= FULL_BOARD; board++) {
+            for (int line : WIN_MASKS) {
+                if ((board & line) == line) {
+                    WINNING[board] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    /** The positions occupied by X. */
+    private int xBoard;
+
+    /** The positions occupied by O. */
+    private int oBoard;
+
+    /** The player whose turn it is. */
+    private Player currentPlayer;
+
+    /** The player who completed a line, or null if no one has. */
+    private Player winner;
+
+    /** Whether a player has won or the board is full. */
+    private boolean gameOver;
+
+    /**
+     * Constructs a model with an empty board and X to move.
+     */
+    public BitboardTTTModel() {
+        reset();
+    }
+
+    @Override
+    public boolean makeMove(int row, int col) {
+        if (gameOver) {
+            throw new IllegalStateException("The game is over.");
+        }
+        int bit = bit(row, col);
+        if (((xBoard | oBoard) & bit) != 0) {
+            return false;
+        }
+        int board;
+        if (currentPlayer == Player.X) {
+            board = xBoard |= bit;
+        } else {
+            board = oBoard |= bit;
+        }
+        if (WINNING[board]) {
+            winner = currentPlayer;
+            gameOver = true;
+        } else if ((xBoard | oBoard) == FULL_BOARD) {
+            gameOver = true;
+        }
+        currentPlayer = currentPlayer.opponent();
+        return true;
+    }
+
+    @Override
+    public Player getPlayerAt(int row, int col) {
+        int bit = bit(row, col);
+        if ((xBoard & bit) != 0) {
+            return Player.X;
+        }
+        if ((oBoard & bit) != 0) {
+            return Player.O;
+        }
+        return null;
+    }
+
+    @Override
+    public Player getCurrentPlayer() {
+        return gameOver ? null : currentPlayer;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public Player getWinner() {
+        return winner;
+    }
+
+    @Override
+    public int getBoardSize() {
+        return SIZE;
+    }
+
+    @Override
+    public void reset() {
+        xBoard = 0;
+        oBoard = 0;
+        currentPlayer = Player.X;
+        winner = null;
+        gameOver = false;
+    }
+
+    /**
+     * Returns the mask with only the bit of a position set.
+     *
+     * @param row zero-based row index
+     * @param col zero-based column index
+     * @return the bit of the position
+     * @throws IllegalArgumentException if the position is outside the board dimensions
+     */
+    private static int bit(int row, int col) {
+        if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+            throw new IllegalArgumentException(
+                    "Position (" + row + ", " + col + ") is outside the board.");
+        }
+        return 1 << (row * SIZE + col);
+    }
+}
@@ -0,0 +1,228 @@
+package tictactoe.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import tictactoe.Player;
+
+/**
+ * Test class for BitboardTTTModel implementation.
+ * Plays games through makeMove and checks the board, the turn, the winner and the end of the game.
+ */
+public class BitboardTTTModelTest {
+
+    /** The cells of the eight winning lines: three rows, three columns and two diagonals. */
+    private static final int[][][] LINES = {
+        {{0, 0}, {0, 1}, {0, 2}}, {{1, 0}, {1, 1}, {1, 2}}, {{2, 0}, {2, 1}, {2, 2}},
+        {{0, 0}, {1, 0}, {2, 0}}, {{0, 1}, {1, 1}, {2, 1}}, {{0, 2}, {1, 2}, {2, 2}},
+        {{0, 0}, {1, 1}, {2, 2}}, {{0, 2}, {1, 1}, {2, 0}}
+    };
+
+    private BitboardTTTModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new BitboardTTTModel();
+    }
+
+    /**
+     * Tests the state of a new model.
+     */
+    @Test
+    void testNewModel() {
+        assertEquals(3, model.getBoardSize());
+        assertEquals(Player.X, model.getCurrentPlayer());
+        assertFalse(model.isGameOver());
+        assertNull(model.getWinner());
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertNull(model.getPlayerAt(row, col));
+            }
+        }
+    }
+
+    /**
+     * Tests that moves fill cells and alternate between the players.
+     */
+    @Test
+    void testMovesAlternate() {
+        assertTrue(model.makeMove(1, 1));
+        assertEquals(Player.X, model.getPlayerAt(1, 1));
+        assertEquals(Player.O, model.getCurrentPlayer());
+        assertTrue(model.makeMove(0, 2));
+        assertEquals(Player.O, model.getPlayerAt(0, 2));
+        assertEquals(Player.X, model.getCurrentPlayer());
+    }
+
+    /**
+     * Tests that X wins by completing each of the eight lines.
+     */
+    @Test
+    void testEveryLineWinsForX() {
+        for (int[][] line : LINES) {
+            model.reset();
+            playLine(line, Player.X);
+            assertTrue(model.isGameOver());
+            assertEquals(Player.X, model.getWinner());
+            assertNull(model.getCurrentPlayer());
+        }
+    }
+
+    /**
+     * Tests that O wins by completing each of the eight lines.
+     */
+    @Test
+    void testEveryLineWinsForO() {
+        for (int[][] line : LINES) {
+            model.reset();
+            playLine(line, Player.O);
+            assertTrue(model.isGameOver());
+            assertEquals(Player.O, model.getWinner());
+            assertNull(model.getCurrentPlayer());
+        }
+    }
+
+    /**
+     * Tests that filling the board without a line ends the game in a draw.
+     */
+    @Test
+    void testDrawOnFullBoard() {
+        // X O X / X O O / O X X
+        int[][] moves = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+        for (int i = 0; i < moves.length; i++) {
+            assertFalse(model.isGameOver());
+            assertTrue(model.makeMove(moves[i][0], moves[i][1]));
+        }
+        assertTrue(model.isGameOver());
+        assertNull(model.getWinner());
+        assertNull(model.getCurrentPlayer());
+    }
+
+    /**
+     * Tests that a move to an occupied cell is refused and does not change the turn.
+     */
+    @Test
+    void testOccupiedCell() {
+        assertTrue(model.makeMove(0, 0));
+        assertFalse(model.makeMove(0, 0));
+        assertEquals(Player.X, model.getPlayerAt(0, 0));
+        assertEquals(Player.O, model.getCurrentPlayer());
+    }
+
+    /**
+     * Tests that positions outside the board are rejected.
+     */
+    @Test
+    void testOutsideBoard() {
+        assertThrows(IllegalArgumentException.class, () -> model.makeMove(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> model.makeMove(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> model.getPlayerAt(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> model.getPlayerAt(0, -1));
+    }
+
+    /**
+     * Tests that no move is accepted once the game is over.
+     */
+    @Test
+    void testMoveAfterGameOver() {
+        playLine(LINES[0], Player.X);
+        assertThrows(IllegalStateException.class, () -> model.makeMove(2, 2));
+        assertNull(model.getPlayerAt(2, 2));
+    }
+
+    /**
+     * Tests that reset clears the board and starts a new game with X to move.
+     */
+    @Test
+    void testReset() {
+        playLine(LINES[6], Player.O);
+        model.reset();
+        assertFalse(model.isGameOver());
+        assertNull(model.getWinner());
+        assertEquals(Player.X, model.getCurrentPlayer());
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertNull(model.getPlayerAt(row, col));
+            }
+        }
+        assertTrue(model.makeMove(1, 1));
+    }
+
+    /**
+     * Plays a game in which a player completes a line, the other player moving on cells outside
+     * it that do not complete a line of their own.
+     *
+     * @param line the cells of the line to complete
+     * @param player the player who completes the line
+     */
+    private void playLine(int[][] line, Player player) {
+        int[][] others = cellsOutside(line);
+        int other = 0;
+        if (player == Player.O) {
+            assertTrue(model.makeMove(others[other][0], others[other][1]));
+            other++;
+        }
+        for (int i = 0; i < line.length; i++) {
+            assertFalse(model.isGameOver());
+            assertEquals(player, model.getCurrentPlayer());
+            assertTrue(model.makeMove(line[i][0], line[i][1]));
+            if (i < line.length - 1) {
+                assertTrue(model.makeMove(others[other][0], others[other][1]));
+                other++;
+            }
+        }
+    }
+
+    /**
+     * Returns the cells that are not on a line, ordered so that the first three of them never
+     * form a line themselves.
+     *
+     * @param line the cells of the line
+     * @return the six other cells.
+     */
+    private static int[][] cellsOutside(int[][] line) {
+        int[][] cells = new int[6][];
+        int count = 0;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                boolean onLine = false;
+                for (int[] cell : line) {
+                    onLine |= cell[0] == row && cell[1] == col;
+                }
+                if (!onLine) {
+                    cells[count++] = new int[] {row, col};
+                }
+            }
+        }
+        for (int[][] other : LINES) {
+            if (isLine(cells[0], cells[1], cells[2], other)) {
+                int[] swap = cells[2];
+                cells[2] = cells[3];
+                cells[3] = swap;
+                break;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Checks whether three cells are exactly the cells of a line.
+     *
+     * @param a the first cell
+     * @param b the second cell
+     * @param c the third cell
+     * @param line the cells of the line
+     * @return true if the cells form the line and false otherwise.
+     */
+    private static boolean isLine(int[] a, int[] b, int[] c, int[][] line) {
+        int matched = 0;
+        for (int[] cell : line) {
+            for (int[] candidate : new int[][] {a, b, c}) {
+                if (cell[0] == candidate[0] && cell[1] == candidate[1]) {
+                    matched++;
+                }
+            }
+        }
+        return matched == 3;
+    }
+}